@@ -6,7 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * AuthResponse DTO - Response sau khi login/register
+ * AuthResponse DTO - Response sau khi login/register/refresh
+ * 
+ * token là access token ngắn hạn (expiresIn tính bằng giây),
+ * refreshToken dùng một lần để lấy cặp token mới.
  */
 @Data
 @Builder
@@ -17,6 +20,8 @@ public class AuthResponse {
     private String token;
     @Builder.Default
     private String type = "Bearer";
+    private long expiresIn;
+    private String refreshToken;
     private UserResponse user;
 }
 
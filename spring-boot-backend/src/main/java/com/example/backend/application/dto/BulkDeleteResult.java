@@ -0,0 +1,21 @@
+package com.example.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * BulkDeleteResult DTO - Kết quả bulk delete theo IDs
+ * 
+ * requested là số IDs khác nhau trong request; deleted nhỏ hơn nếu có IDs không tồn tại.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResult {
+    
+    private int requested;
+    private int deleted;
+}
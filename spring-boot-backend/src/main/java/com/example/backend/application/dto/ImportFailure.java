@@ -0,0 +1,22 @@
+package com.example.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ImportFailure DTO - Một row không import được
+ * 
+ * row là số thứ tự record trong payload (bắt đầu từ 1, không tính CSV header)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportFailure {
+    
+    private long row;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.example.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ImportResult DTO - Kết quả bulk import
+ * 
+ * failures chỉ chứa tối đa MAX_IMPORT_FAILURES entries; failed luôn là tổng số rows lỗi.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    
+    private long total;
+    private long imported;
+    private long failed;
+    private List<ImportFailure> failures;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * PageResponse DTO - Một page kết quả
+ * 
+ * - Keyset pagination: nextCursor dùng cho request tiếp theo (null khi hết data)
+ * - Offset pagination: page là số page hiện tại, nextCursor luôn null
+ * 
+ * Không có total count: count(*) trên bảng lớn là full scan, trái với mục tiêu của pagination.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    
+    private List<T> items;
+    private int limit;
+    private boolean hasNext;
+    private String nextCursor;
+    private Integer page;
+}
@@ -0,0 +1,21 @@
+package com.example.backend.application.dto;
+
+import com.example.backend.constants.ApplicationConstants;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RefreshTokenRequest DTO - Dùng cho refresh access token và logout
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequest {
+    
+    @NotBlank(message = ApplicationConstants.VALIDATION_REFRESH_TOKEN_REQUIRED)
+    private String refreshToken;
+}
@@ -0,0 +1,48 @@
+package com.example.backend.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * UserPatchRequest DTO - Partial update (PATCH, JSON merge patch)
+ *
+ * Field không có trong body thì giữ nguyên. name/email không nullable nên null = không đổi;
+ * "bio": null xóa bio, vì vậy cần phân biệt bio vắng mặt với bio null (bioPresent).
+ */
+@Data
+@NoArgsConstructor
+public class UserPatchRequest {
+    
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Name is required")
+    private String name;
+    
+    @Email(message = "Email should be valid")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Email is required")
+    private String email;
+    
+    @Size(max = 500, message = "Bio must not exceed 500 characters")
+    private String bio;
+    
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private boolean bioPresent;
+    
+    public void setBio(String bio) {
+        this.bio = bio;
+        this.bioPresent = true;
+    }
+    
+    /**
+     * Có ít nhất một field cần update không
+     */
+    public boolean hasChanges() {
+        return name != null || email != null || bioPresent;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,5 +26,9 @@ public class UserResponse {
     private String bio;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    // Version của entity - không nằm trong body, được trả về qua ETag header
+    @JsonIgnore
+    private Long version;
 }
 
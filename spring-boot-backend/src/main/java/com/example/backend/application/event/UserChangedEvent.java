@@ -0,0 +1,32 @@
+package com.example.backend.application.event;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * UserChangedEvent - Publish khi user bị update hoặc delete
+ *
+ * Các cache phía infrastructure (UserDetails, ...) lắng nghe event này
+ * sau khi transaction commit để evict entries liên quan. Bulk operations publish
+ * một event cho tất cả users thay vì một event cho mỗi user.
+ *
+ * @param userIds IDs của các users bị thay đổi
+ * @param emails Các email đã biết là bị ảnh hưởng (email cũ và mới); có thể rỗng
+ */
+public record UserChangedEvent(Set<Long> userIds, Set<String> emails) {
+
+    public static UserChangedEvent of(Long userId, String... emails) {
+        return new UserChangedEvent(
+                Stream.ofNullable(userId).collect(Collectors.toUnmodifiableSet()),
+                Stream.of(emails).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public static UserChangedEvent ofAll(Collection<Long> userIds) {
+        return new UserChangedEvent(
+                userIds.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()),
+                Set.of());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.application.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * ConstraintViolations - Helper để nhận diện loại constraint violation từ database
+ * 
+ * Cho phép service dựa vào UNIQUE constraint thay vì check trước bằng query riêng
+ */
+public final class ConstraintViolations {
+    
+    // SQLState chuẩn cho unique violation (PostgreSQL, H2)
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    
+    // MySQL error code cho duplicate entry
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    
+    // UNIQUE(email) trên users, theo message của từng database:
+    // PostgreSQL "users_email_key" / "Key (email)=", H2 "USERS(EMAIL NULLS FIRST)", MySQL "for key 'users.email'"
+    private static final Pattern USERS_EMAIL_CONSTRAINT = Pattern.compile(
+            "users_email_key|\\(email[\\s)]|users\\.email\\b", Pattern.CASE_INSENSITIVE);
+    
+    // Private constructor để prevent instantiation
+    private ConstraintViolations() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    /**
+     * Check xem exception có phải do vi phạm UNIQUE constraint không
+     */
+    public static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return uniqueViolationOf(ex) != null;
+    }
+    
+    /**
+     * Check xem exception có phải do trùng users.email không
+     * 
+     * Unique violation khác (ví dụ trùng primary key) không phải lỗi của client nên không map sang duplicate email
+     */
+    public static boolean isDuplicateUserEmail(DataIntegrityViolationException ex) {
+        SQLException sqlException = uniqueViolationOf(ex);
+        return sqlException != null
+                && sqlException.getMessage() != null
+                && USERS_EMAIL_CONSTRAINT.matcher(sqlException.getMessage()).find();
+    }
+    
+    private static SQLException uniqueViolationOf(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                boolean unique = UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY;
+                return unique ? sqlException : null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.backend.application.exception;
+
+/**
+ * PreconditionFailedException - Throw khi If-Match không khớp với version hiện tại của resource
+ * 
+ * GlobalExceptionHandler map exception này thành 412 Precondition Failed
+ */
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
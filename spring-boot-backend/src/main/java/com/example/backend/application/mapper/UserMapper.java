@@ -2,6 +2,7 @@ package com.example.backend.application.mapper;
 
 import com.example.backend.application.dto.UserRequest;
 import com.example.backend.application.dto.UserResponse;
+import com.example.backend.constants.DomainConstants;
 import com.example.backend.domain.model.User;
 import org.springframework.stereotype.Component;
 
@@ -18,12 +19,16 @@ public class UserMapper {
     
     /**
      * Map UserRequest -> User Entity
+     * 
+     * UserRequest không có password nên user được tạo với password không dùng được
+     * (không thể login cho đến khi password được set)
      */
     public User toEntity(UserRequest request) {
         return User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
                 .bio(request.getBio())
+                .password(DomainConstants.UNUSABLE_PASSWORD)
                 .build();
     }
     
@@ -38,6 +43,7 @@ public class UserMapper {
                 .bio(user.getBio())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
                 .build();
     }
     
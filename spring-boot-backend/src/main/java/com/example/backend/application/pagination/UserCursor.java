@@ -0,0 +1,66 @@
+package com.example.backend.application.pagination;
+
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.application.dto.UserResponse;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * UserCursor - Vị trí của row cuối cùng trong page (keyset pagination)
+ * 
+ * Được encode thành chuỗi opaque (Base64URL) cho client. Cursor gắn với sort field và
+ * direction, nên không thể dùng cursor của sort này cho sort khác.
+ * 
+ * @param sort      field đang sort
+ * @param direction chiều sort
+ * @param createdAt createdAt của row cuối (null khi sort theo id)
+ * @param id        id của row cuối (tie-breaker khi sort theo createdAt)
+ */
+public record UserCursor(UserSortField sort, Sort.Direction direction, LocalDateTime createdAt, long id) {
+    
+    private static final String SEPARATOR = "|";
+    private static final String EMPTY = "-";
+    
+    /**
+     * Tạo cursor trỏ vào user cuối cùng của page
+     */
+    public static UserCursor after(UserResponse user, UserSortField sort, Sort.Direction direction) {
+        return new UserCursor(sort, direction, sort == UserSortField.CREATED_AT ? user.getCreatedAt() : null, user.getId());
+    }
+    
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sort.name(),
+                direction.name(),
+                createdAt != null ? createdAt.toString() : EMPTY,
+                Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode cursor và check nó thuộc cùng sort/direction với request
+     */
+    public static UserCursor decode(String cursor, UserSortField sort, Sort.Direction direction) {
+        UserCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            decoded = new UserCursor(
+                    UserSortField.valueOf(parts[0]),
+                    Sort.Direction.valueOf(parts[1]),
+                    EMPTY.equals(parts[2]) ? null : LocalDateTime.parse(parts[2]),
+                    Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_CURSOR, e);
+        }
+        
+        if (decoded.sort != sort || decoded.direction != direction
+                || (sort == UserSortField.CREATED_AT && decoded.createdAt == null)) {
+            throw new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_CURSOR);
+        }
+        return decoded;
+    }
+}
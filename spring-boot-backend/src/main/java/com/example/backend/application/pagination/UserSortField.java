@@ -0,0 +1,37 @@
+package com.example.backend.application.pagination;
+
+import com.example.backend.constants.ApplicationConstants;
+
+import java.util.Arrays;
+
+/**
+ * UserSortField - Các field được phép dùng để sort/paginate users
+ * 
+ * Mỗi field đều có index (id: primary key, createdAt: (created_at, id)),
+ * nên mọi page là một index range scan có giới hạn.
+ */
+public enum UserSortField {
+    
+    ID("id"),
+    CREATED_AT("createdAt");
+    
+    private final String param;
+    
+    UserSortField(String param) {
+        this.param = param;
+    }
+    
+    public String getParam() {
+        return param;
+    }
+    
+    /**
+     * Parse từ query parameter (id | createdAt)
+     */
+    public static UserSortField fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(field -> field.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_SORT_FIELD));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.application.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * ReadConsistency - Port cho yêu cầu đọc dữ liệu đã commit mới nhất (Application Layer)
+ * 
+ * Read-only transactions bình thường có thể đọc từ replica (replication lag). Code ghi vào cache
+ * dùng chung cho mọi user cần đọc từ primary, nếu không row cũ quay lại cache sau eviction.
+ * Implementation thuộc Infrastructure Layer (RoutingReadConsistency).
+ */
+public interface ReadConsistency {
+    
+    /**
+     * Chạy action với mọi read trên thread hiện tại đi tới primary
+     * 
+     * Caller không được giữ sẵn transaction/connection (connection phải được lấy bên trong action).
+     */
+    <T> T readFromPrimary(Supplier<T> action);
+}
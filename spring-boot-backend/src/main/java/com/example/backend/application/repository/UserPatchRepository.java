@@ -0,0 +1,29 @@
+package com.example.backend.application.repository;
+
+import com.example.backend.application.dto.UserPatchRequest;
+import com.example.backend.application.dto.UserResponse;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * UserPatchRepository - Application Layer port cho partial update của user
+ *
+ * Nhận UserPatchRequest và trả về UserResponse (DTOs của application), nên không thuộc domain layer.
+ *
+ * Implement ở Infrastructure Layer (JdbcUserPatchRepository) bằng một statement duy nhất:
+ * UPDATE chỉ các fields được gửi, tăng version, và trả về state mới (không SELECT riêng,
+ * không load entity).
+ */
+public interface UserPatchRepository {
+    
+    /**
+     * Update các fields có trong patch
+     *
+     * Email trùng làm statement vi phạm UNIQUE constraint (DataIntegrityViolationException).
+     *
+     * @param expectedVersions chỉ update nếu version hiện tại nằm trong set; null = không kiểm tra
+     * @return state sau update; empty nếu user không tồn tại hoặc version không khớp
+     */
+    Optional<UserResponse> patch(Long id, UserPatchRequest patch, Set<Long> expectedVersions);
+}
@@ -0,0 +1,124 @@
+package com.example.backend.application.repository;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.constants.DomainConstants;
+import com.example.backend.domain.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * UserQueryRepository - Read-side queries trả về UserResponse projection
+ * 
+ * Thuộc Application Layer vì kết quả là DTO của application (UserResponse); domain
+ * UserRepository chỉ làm việc với entity User. Spring Data JPA tự động implement interface này.
+ * 
+ * Tất cả queries chạy trong transaction readOnly (được route tới read replica khi
+ * gọi ngoài transaction của service).
+ */
+@Transactional(readOnly = true)
+public interface UserQueryRepository extends Repository<User, Long> {
+    
+    /**
+     * Projection thẳng vào UserResponse (constructor expression) cho read path:
+     * không load password, không đăng ký entity vào persistence context, không cần mapper.
+     */
+    String USER_RESPONSE_SELECT = "SELECT new com.example.backend.application.dto.UserResponse("
+            + "u.id, u.name, u.email, u.bio, u.createdAt, u.updatedAt, u.version) FROM User u ";
+    
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+    
+    /**
+     * Batch lookup - một query IN cho nhiều IDs (thứ tự kết quả không xác định, IDs không tồn tại bị bỏ qua)
+     */
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id IN :ids")
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Ranking cho search: exact email, email prefix, name prefix, rồi substring; cùng rank thì theo name
+     * 
+     * Parameters là lowercase; prefix/pattern đã escape wildcard bằng '\'.
+     */
+    String SEARCH_RANK_ORDER = "ORDER BY CASE WHEN LOWER(u.email) = :term THEN 0 "
+            + "WHEN LOWER(u.email) LIKE :prefix ESCAPE '\\' THEN 1 "
+            + "WHEN LOWER(u.name) LIKE :prefix ESCAPE '\\' THEN 2 "
+            + "ELSE 3 END, u.name, u.id";
+    
+    @Query(USER_RESPONSE_SELECT
+            + "WHERE LOWER(u.email) LIKE :prefix ESCAPE '\\' OR LOWER(u.name) LIKE :prefix ESCAPE '\\' "
+            + SEARCH_RANK_ORDER)
+    Slice<UserResponse> searchResponsesByPrefix(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            Pageable pageable);
+    
+    @Query(USER_RESPONSE_SELECT
+            + "WHERE LOWER(u.email) LIKE :pattern ESCAPE '\\' OR LOWER(u.name) LIKE :pattern ESCAPE '\\' "
+            + SEARCH_RANK_ORDER)
+    Slice<UserResponse> searchResponsesBySubstring(
+            @Param("term") String term,
+            @Param("prefix") String prefix,
+            @Param("pattern") String pattern,
+            Pageable pageable);
+    
+    /**
+     * Offset pagination - Slice thay vì Page để không chạy thêm count(*) query
+     */
+    @Query(USER_RESPONSE_SELECT)
+    Slice<UserResponse> findResponses(Pageable pageable);
+    
+    /**
+     * Keyset pagination theo id (primary key index)
+     */
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<UserResponse> findResponsePageByIdAsc(@Param("afterId") long afterId, Limit limit);
+    
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id < :beforeId ORDER BY u.id DESC")
+    List<UserResponse> findResponsePageByIdDesc(@Param("beforeId") long beforeId, Limit limit);
+    
+    /**
+     * Keyset pagination theo (createdAt, id) - index idx_users_created_at_id
+     */
+    @Query(USER_RESPONSE_SELECT + "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserResponse> findResponsePageByCreatedAtAsc(Limit limit);
+    
+    @Query(USER_RESPONSE_SELECT + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponse> findResponsePageByCreatedAtDesc(Limit limit);
+    
+    @Query(USER_RESPONSE_SELECT + "WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) "
+            + "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserResponse> findResponsePageByCreatedAtAsc(@Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") long id, Limit limit);
+    
+    @Query(USER_RESPONSE_SELECT + "WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserResponse> findResponsePageByCreatedAtDesc(@Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") long id, Limit limit);
+    
+    /**
+     * Stream tất cả users theo id (forward-only cursor phía database)
+     * 
+     * Fetch size giới hạn số rows JDBC driver giữ trong memory; projection nên không có entity
+     * nào nằm trong persistence context. Phải được gọi trong transaction và close sau khi dùng.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + DomainConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(USER_RESPONSE_SELECT + "ORDER BY u.id ASC")
+    Stream<UserResponse> streamAllResponsesOrderById();
+}
@@ -0,0 +1,29 @@
+package com.example.backend.application.security;
+
+import com.example.backend.domain.model.User;
+
+/**
+ * AccessTokenService - Port cho issue và revoke access token (Application Layer)
+ *
+ * Application Layer không biết format của token (JWT, signing keys, revocation list).
+ * Implementation thuộc Infrastructure Layer (JwtAccessTokenService).
+ */
+public interface AccessTokenService {
+
+    /**
+     * Issue access token cho user đã xác thực
+     */
+    String issue(User user);
+
+    /**
+     * Thời gian sống của access token (giây) - trả về cho client dưới dạng expiresIn
+     */
+    long getExpirationSeconds();
+
+    /**
+     * Revoke access token trước khi expire
+     *
+     * Token invalid hoặc đã expired thì bỏ qua vì nó đã không còn dùng được.
+     */
+    void revoke(String accessToken);
+}
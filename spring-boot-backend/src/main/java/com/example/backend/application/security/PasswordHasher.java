@@ -0,0 +1,25 @@
+package com.example.backend.application.security;
+
+/**
+ * PasswordHasher - Port cho hash/verify password (Application Layer)
+ *
+ * Hash/verify tốn CPU nên implementation có thể chạy chúng ngoài request thread
+ * và fail fast khi quá tải. Implementation thuộc Infrastructure Layer (PooledPasswordHasher).
+ */
+public interface PasswordHasher {
+
+    /**
+     * Hash password
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * Verify password với hash đã lưu
+     */
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * Hash có cần re-encode không (strength/algorithm cũ)
+     */
+    boolean upgradeEncoding(String encodedPassword);
+}
@@ -3,41 +3,63 @@ package com.example.backend.application.service;
 import com.example.backend.constants.ApplicationConstants;
 import com.example.backend.application.dto.AuthResponse;
 import com.example.backend.application.dto.LoginRequest;
+import com.example.backend.application.dto.RefreshTokenRequest;
 import com.example.backend.application.dto.RegisterRequest;
+import com.example.backend.application.event.UserChangedEvent;
+import com.example.backend.application.exception.ConstraintViolations;
 import com.example.backend.application.mapper.UserMapper;
+import com.example.backend.application.security.AccessTokenService;
+import com.example.backend.application.security.PasswordHasher;
 import com.example.backend.domain.model.Role;
 import com.example.backend.domain.model.User;
 import com.example.backend.domain.repository.UserRepository;
-import com.example.backend.infrastructure.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
 
 /**
  * AuthenticationService - Service xử lý authentication và authorization
  * 
  * Business logic:
- * - Register new user (hash password, set default role)
+ * - Register new user (hash password, set default role) - một INSERT duy nhất,
+ *   email uniqueness được đảm bảo bởi UNIQUE constraint
  * - Login user (authenticate, generate JWT token)
+ * - Refresh: đổi refresh token (dùng một lần) lấy access token + refresh token mới
+ * - Logout: revoke access token (theo jti) và refresh token
+ * 
+ * Login chỉ load User một lần: password được verify, JWT token và UserResponse
+ * được tạo từ cùng một entity. Login không đi qua AuthenticationManager/DaoAuthenticationProvider
+ * (không có bean nào trong SecurityConfig), nên không dùng UserDetailsService/CachedUserDetailsService.
+ * Nếu hash được tạo với strength/algorithm cũ thì được re-encode và lưu lại.
+ * 
+ * Password hashing và access token đi qua ports (PasswordHasher, AccessTokenService);
+ * hash/verify chạy trên hashing pool riêng, không chiếm request threads.
+ * Service không mở transaction bao ngoài: mỗi repository call có transaction riêng,
+ * nên không giữ database connection trong lúc chờ bcrypt.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class AuthenticationService {
     
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final PasswordHasher passwordHasher;
+    private final AccessTokenService accessTokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final LastLoginTracker lastLoginTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Hash dùng khi email không tồn tại - vẫn chạy password check để response time
+     * không tiết lộ email nào đã đăng ký
+     */
+    private volatile String userNotFoundPasswordHash;
     
     /**
      * Register new user
@@ -45,32 +67,30 @@ public class AuthenticationService {
     public AuthResponse register(RegisterRequest request) {
         log.debug("Registering new user with email: {}", request.getEmail());
         
-        // Check email uniqueness
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
-        }
-        
         // Create user entity
         User user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword())) // Hash password
+                .password(passwordHasher.encode(request.getPassword())) // Hash password
                 .bio(request.getBio())
-                .role(Role.USER) // Default role
+                .roles(EnumSet.of(Role.USER)) // Default role
                 .build();
         
-        User savedUser = userRepository.save(user);
-        
-        // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
-        String jwtToken = jwtService.generateToken(userDetails);
+        // Insert trực tiếp - UNIQUE constraint trên email xử lý duplicate (kể cả race condition)
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isDuplicateUserEmail(ex)) {
+                throw new IllegalArgumentException(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
+            }
+            throw ex;
+        }
         
         log.info("User registered successfully with ID: {}", savedUser.getId());
         
-        return AuthResponse.builder()
-                .token(jwtToken)
-                .user(userMapper.toResponse(savedUser))
-                .build();
+        // Generate tokens từ entity vừa save (không load lại)
+        return buildAuthResponse(savedUser, refreshTokenService.issue(savedUser));
     }
     
     /**
@@ -79,28 +99,89 @@ public class AuthenticationService {
     public AuthResponse login(LoginRequest request) {
         log.debug("Login attempt for email: {}", request.getEmail());
         
-        // Authenticate user (Spring Security sẽ check password)
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
-        
-        // Load user
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_CREDENTIALS));
+        // Load user một lần duy nhất
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
         
-        // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String jwtToken = jwtService.generateToken(userDetails);
+        // Verify password với chính entity vừa load
+        if (user == null) {
+            passwordHasher.matches(request.getPassword(), getUserNotFoundPasswordHash());
+            throw new BadCredentialsException(ApplicationConstants.ERROR_INVALID_CREDENTIALS);
+        }
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException(ApplicationConstants.ERROR_INVALID_CREDENTIALS);
+        }
+        upgradePasswordEncodingIfNeeded(user, request.getPassword());
+        // last_login_at được ghi write-behind theo batch, không có UPDATE trên request path
+        lastLoginTracker.recordLogin(user.getId());
         
         log.info("User logged in successfully with ID: {}", user.getId());
         
+        return buildAuthResponse(user, refreshTokenService.issue(user));
+    }
+    
+    /**
+     * Refresh access token - refresh token cũ bị vô hiệu hóa (rotation)
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+        
+        log.debug("Access token refreshed for user ID: {}", rotated.user().getId());
+        
+        return buildAuthResponse(rotated.user(), rotated.refreshToken());
+    }
+    
+    /**
+     * Logout - revoke access token hiện tại và refresh token (nếu có)
+     * 
+     * Access token invalid/expired thì bỏ qua vì nó đã không còn dùng được.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            accessTokenService.revoke(accessToken);
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+    
+    /**
+     * Mint access token và build response từ entity đã load
+     */
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
         return AuthResponse.builder()
-                .token(jwtToken)
+                .token(accessTokenService.issue(user))
+                .expiresIn(accessTokenService.getExpirationSeconds())
+                .refreshToken(refreshToken)
                 .user(userMapper.toResponse(user))
                 .build();
     }
+    
+    /**
+     * Re-encode password hash cũ với encoder hiện tại
+     * 
+     * Upgrade thất bại (ví dụ hashing pool đầy) không làm fail login - sẽ thử lại ở lần login sau.
+     */
+    private void upgradePasswordEncodingIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            String upgradedPassword = passwordHasher.encode(rawPassword);
+            userRepository.updatePasswordByEmail(user.getEmail(), upgradedPassword);
+            user.setPassword(upgradedPassword);
+            eventPublisher.publishEvent(UserChangedEvent.of(user.getId(), user.getEmail()));
+            log.info("Upgraded password encoding for user ID: {}", user.getId());
+        } catch (RuntimeException ex) {
+            log.warn("Could not upgrade password encoding for user ID: {}", user.getId(), ex);
+        }
+    }
+    
+    private String getUserNotFoundPasswordHash() {
+        String hash = userNotFoundPasswordHash;
+        if (hash == null) {
+            hash = passwordHasher.encode("userNotFoundPassword");
+            userNotFoundPasswordHash = hash;
+        }
+        return hash;
+    }
 }
-
@@ -0,0 +1,73 @@
+package com.example.backend.application.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvRecordReader - Đọc CSV (RFC 4180) từng record một từ Reader
+ * 
+ * Hỗ trợ quoted fields (dấu phẩy, dấu nháy kép "" và xuống dòng bên trong quotes), CRLF hoặc LF.
+ * Caller chịu trách nhiệm buffer Reader.
+ */
+class CsvRecordReader {
+    
+    private final Reader reader;
+    private int next;
+    
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        this.next = reader.read();
+    }
+    
+    /**
+     * Đọc record tiếp theo
+     * 
+     * @return danh sách fields, hoặc null khi hết input
+     */
+    List<String> readRecord() throws IOException {
+        if (next == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (next != -1) {
+            int c = advance();
+            if (quoted) {
+                if (c == '"' && next == '"') {
+                    field.append('"');
+                    advance();
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' && next == '\n') {
+                advance();
+                break;
+            } else if (c == '\n' || c == '\r') {
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted CSV field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private int advance() throws IOException {
+        int current = next;
+        next = reader.read();
+        return current;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.application.service;
+
+import com.example.backend.constants.DomainConstants;
+import com.example.backend.domain.repository.UserBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LastLoginTracker - Write-behind cho users.last_login_at
+ *
+ * - Login chỉ ghi vào buffer in-memory (không có UPDATE trên request path)
+ * - Buffer gộp theo user: nhiều logins giữa hai lần flush chỉ giữ timestamp mới nhất
+ * - Background job flush định kỳ bằng JDBC batch UPDATE, và flush lần cuối khi shutdown
+ * - Buffer bounded theo số users; đầy thì login của user mới bị bỏ qua (đếm trong metric dropped)
+ *
+ * Flush lỗi thì entries được đưa lại vào buffer và thử lại ở lần flush sau.
+ * Instance bị kill (không graceful) mất tối đa một flush interval của last-login updates.
+ */
+@Component
+@Slf4j
+public class LastLoginTracker {
+
+    private final UserBatchRepository userBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+
+    public LastLoginTracker(
+            UserBatchRepository userBatchRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${users.last-login.buffer-capacity:100000}") int capacity) {
+        this.userBatchRepository = userBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.capacity = Math.max(1, capacity);
+        Gauge.builder("users.last_login.pending", pending, Map::size)
+                .description("Users with a last-login timestamp waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("users.last_login.flush")
+                .description("Time to write buffered last-login timestamps")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("users.last_login.dropped")
+                .description("Logins not tracked because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ghi nhận login thành công - O(1), không chạm database
+     */
+    public void recordLogin(Long userId) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (pending.size() >= capacity && !pending.containsKey(userId)) {
+            droppedCounter.increment();
+            return;
+        }
+        pending.merge(userId, now, LastLoginTracker::latest);
+    }
+
+    /**
+     * Flush buffer xuống database - mỗi chunk một JDBC batch trong transaction riêng
+     */
+    @Scheduled(fixedDelayString = "${users.last-login.flush-interval:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime lastLoginAt = pending.remove(userId);
+            if (lastLoginAt != null) {
+                drained.add(Map.entry(userId, lastLoginAt));
+            }
+        }
+        flushTimer.record(() -> write(drained));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.debug("Flushing {} buffered last-login timestamps before shutdown", pending.size());
+        flush();
+    }
+
+    private void write(List<Map.Entry<Long, LocalDateTime>> entries) {
+        int updated = 0;
+        for (int from = 0; from < entries.size(); from += DomainConstants.LAST_LOGIN_FLUSH_BATCH_SIZE) {
+            List<Map.Entry<Long, LocalDateTime>> chunk =
+                    entries.subList(from, Math.min(from + DomainConstants.LAST_LOGIN_FLUSH_BATCH_SIZE, entries.size()));
+            Map<Long, LocalDateTime> lastLogins = new LinkedHashMap<>();
+            chunk.forEach(entry -> lastLogins.put(entry.getKey(), entry.getValue()));
+            try {
+                Integer count = transactionTemplate.execute(status -> userBatchRepository.batchUpdateLastLogin(lastLogins));
+                updated += count != null ? count : 0;
+            } catch (RuntimeException e) {
+                List<Map.Entry<Long, LocalDateTime>> remaining = entries.subList(from, entries.size());
+                log.warn("Failed to flush {} last-login timestamps, retrying on next flush: {}",
+                        remaining.size(), e.getMessage());
+                remaining.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginTracker::latest));
+                return;
+            }
+        }
+        log.debug("Flushed last-login timestamps: {} buffered, {} rows updated", entries.size(), updated);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
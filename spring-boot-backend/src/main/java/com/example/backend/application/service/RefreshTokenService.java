@@ -0,0 +1,121 @@
+package com.example.backend.application.service;
+
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.constants.SecurityConstants;
+import com.example.backend.domain.model.RefreshToken;
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * RefreshTokenService - Quản lý rotating refresh tokens
+ * 
+ * Business logic:
+ * - Issue: tạo opaque token ngẫu nhiên, chỉ lưu SHA-256 hash
+ * - Rotate: token cũ bị xóa (dùng một lần), token mới được tạo trong cùng transaction
+ * - Revoke: xóa token khi logout
+ * 
+ * Rotate dựa vào số row bị DELETE: hai request refresh đồng thời với cùng token
+ * thì chỉ một request thành công.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    @Value("${jwt.refresh-token.expiration:604800000}") // Default: SecurityConstants.REFRESH_TOKEN_EXPIRATION (7 days)
+    private long refreshExpiration;
+    
+    /**
+     * Kết quả rotate: user sở hữu token và refresh token mới
+     */
+    public record RotatedRefreshToken(User user, String refreshToken) {
+    }
+    
+    /**
+     * Tạo refresh token mới cho user
+     */
+    @Transactional
+    public String issue(User user) {
+        String token = generateToken();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hashToken(token))
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(refreshExpiration, ChronoUnit.MILLIS))
+                .build());
+        return token;
+    }
+    
+    /**
+     * Dùng refresh token (một lần) và tạo token mới
+     */
+    @Transactional
+    public RotatedRefreshToken rotate(String token) {
+        String tokenHash = hashToken(token);
+        RefreshToken existing = refreshTokenRepository.findByTokenHashWithUser(tokenHash)
+                .orElseThrow(() -> new BadCredentialsException(ApplicationConstants.ERROR_INVALID_REFRESH_TOKEN));
+        
+        // 0 row bị xóa nghĩa là request khác đã dùng token này
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0 || existing.isExpired()) {
+            throw new BadCredentialsException(ApplicationConstants.ERROR_INVALID_REFRESH_TOKEN);
+        }
+        
+        User user = existing.getUser();
+        log.debug("Rotated refresh token for user ID: {}", user.getId());
+        return new RotatedRefreshToken(user, issue(user));
+    }
+    
+    /**
+     * Revoke refresh token (logout) - token không tồn tại thì bỏ qua
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.deleteByTokenHash(hashToken(token));
+    }
+    
+    /**
+     * Xóa refresh tokens đã hết hạn
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.cleanup-interval:3600000}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+    
+    private String generateToken() {
+        byte[] bytes = new byte[SecurityConstants.REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+    
+    private String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
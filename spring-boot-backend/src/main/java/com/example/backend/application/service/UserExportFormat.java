@@ -0,0 +1,40 @@
+package com.example.backend.application.service;
+
+import com.example.backend.constants.ApplicationConstants;
+
+import java.util.Arrays;
+
+/**
+ * UserExportFormat - Định dạng export users
+ */
+public enum UserExportFormat {
+    
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+    
+    private final String extension;
+    private final String contentType;
+    
+    UserExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    /**
+     * Parse từ query parameter (ndjson | csv)
+     */
+    public static UserExportFormat fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_EXPORT_FORMAT));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.repository.UserQueryRepository;
+import com.example.backend.constants.DomainConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * UserExportService - Export toàn bộ users với memory không đổi
+ * 
+ * - Rows được đọc qua forward-only Stream (fetch size giới hạn), không materialize thành List
+ * - Rows là UserResponse projection (không phải managed entity), nên persistence context
+ *   không tăng theo kích thước bảng
+ * - Rows được ghi vào buffer trước OutputStream (NDJSON hoặc CSV), chỉ flush sau mỗi EXPORT_FETCH_SIZE rows
+ *   (không phải một network write cho mỗi row)
+ * - NDJSON ObjectWriter (root serializer đã resolve) được tạo một lần và dùng lại cho mọi export
+ */
+@Service
+@Slf4j
+public class UserExportService {
+    
+    private static final String CSV_HEADER = "id,name,email,bio,createdAt,updatedAt";
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    
+    private final UserQueryRepository userQueryRepository;
+    private final ObjectWriter ndjsonWriter;
+    
+    public UserExportService(UserQueryRepository userQueryRepository, ObjectMapper objectMapper) {
+        this.userQueryRepository = userQueryRepository;
+        // SequenceWriter mặc định flush sau mỗi value - tắt để flush theo chunk
+        this.ndjsonWriter = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+    
+    /**
+     * Ghi tất cả users ra output theo format
+     * 
+     * @return số rows đã export
+     */
+    @Transactional(readOnly = true)
+    public long export(UserExportFormat format, OutputStream output) throws IOException {
+        log.debug("Exporting users as {}", format);
+        
+        long count = switch (format) {
+            case NDJSON -> exportNdjson(output);
+            case CSV -> exportCsv(output);
+        };
+        
+        log.info("Exported {} users as {}", count, format);
+        return count;
+    }
+    
+    private long exportNdjson(OutputStream output) throws IOException {
+        // SequenceWriter không được close vì sẽ close luôn response stream
+        OutputStream buffered = new BufferedOutputStream(output, EXPORT_BUFFER_SIZE);
+        SequenceWriter writer = ndjsonWriter.writeValues(buffered);
+        long count = forEachUser(response -> {
+            try {
+                writer.write(response);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+        writer.flush();
+        // Separator chỉ nằm giữa các values - dòng cuối cần newline, export rỗng thì không có dòng nào
+        if (count > 0) {
+            buffered.write('\n');
+        }
+        buffered.flush();
+        return count;
+    }
+    
+    private long exportCsv(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = forEachUser(response -> {
+            try {
+                writer.write(toCsvRow(response));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+        writer.flush();
+        return count;
+    }
+    
+    /**
+     * Duyệt stream và flush output theo chunk
+     */
+    private long forEachUser(Consumer<UserResponse> rowWriter, Flushable output) throws IOException {
+        long count = 0;
+        try (Stream<UserResponse> users = userQueryRepository.streamAllResponsesOrderById()) {
+            Iterator<UserResponse> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.accept(iterator.next());
+                if (++count % DomainConstants.EXPORT_FETCH_SIZE == 0) {
+                    output.flush();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+    
+    private String toCsvRow(UserResponse response) {
+        return String.join(",",
+                String.valueOf(response.getId()),
+                csvField(response.getName()),
+                csvField(response.getEmail()),
+                csvField(response.getBio()),
+                csvField(response.getCreatedAt()),
+                csvField(response.getUpdatedAt()));
+    }
+    
+    private String csvField(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+    
+    /**
+     * Escape theo RFC 4180: quote khi có dấu phẩy, dấu nháy kép hoặc xuống dòng
+     */
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.ImportFailure;
+import com.example.backend.application.dto.ImportResult;
+import com.example.backend.application.dto.UserRequest;
+import com.example.backend.application.exception.ConstraintViolations;
+import com.example.backend.application.mapper.UserMapper;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.constants.DomainConstants;
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.UserBatchRepository;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * UserImportService - Bulk import users từ JSON array hoặc CSV
+ *
+ * - Payload được đọc từng row một (streaming), không load toàn bộ vào memory
+ * - Mỗi row được validate theo constraints của UserRequest; row lỗi được report, không abort cả import
+ * - Rows hợp lệ được insert theo chunk IMPORT_BATCH_SIZE bằng một JDBC batch, mỗi chunk một transaction
+ *   (không qua persistence context: không giữ managed entities, roles được ghi bằng batch thứ hai)
+ * - JSON row sai kiểu dữ liệu được report theo row; chỉ payload không parse được mới dừng import
+ * - Duplicate email (trong payload hoặc đã có trong database) được report theo row
+ *
+ * Chunk đã commit không bị rollback khi chunk sau lỗi - kết quả trả về cho biết chính xác rows nào đã import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportService {
+    
+    private static final String CSV_COLUMN_NAME = "name";
+    private static final String CSV_COLUMN_EMAIL = "email";
+    private static final String CSV_COLUMN_BIO = "bio";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    
+    private final UserBatchRepository userBatchRepository;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    
+    /**
+     * Import từ JSON array các UserRequest objects
+     */
+    public ImportResult importJson(InputStream input) throws IOException {
+        try (MappingIterator<UserRequest> rows = objectMapper.readerFor(UserRequest.class).readValues(input)) {
+            return importRows(() -> rows.hasNextValue() ? rows.nextValue() : null);
+        }
+    }
+    
+    /**
+     * Import từ CSV (RFC 4180) với header row - cột name và email là bắt buộc, bio là optional
+     */
+    public ImportResult importCsv(InputStream input) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return importRows(() -> null);
+        }
+        List<String> columns = header.stream()
+                .map(column -> column.replace(String.valueOf(BYTE_ORDER_MARK), "").trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int nameIndex = columns.indexOf(CSV_COLUMN_NAME);
+        int emailIndex = columns.indexOf(CSV_COLUMN_EMAIL);
+        int bioIndex = columns.indexOf(CSV_COLUMN_BIO);
+        if (nameIndex < 0 || emailIndex < 0) {
+            throw new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_IMPORT_HEADER);
+        }
+        
+        return importRows(() -> {
+            List<String> record = reader.readRecord();
+            // Bỏ qua dòng trống (thường là newline cuối file)
+            while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+                record = reader.readRecord();
+            }
+            if (record == null) {
+                return null;
+            }
+            String bio = csvValue(record, bioIndex);
+            return UserRequest.builder()
+                    .name(csvValue(record, nameIndex))
+                    .email(csvValue(record, emailIndex))
+                    .bio(bio == null || bio.isEmpty() ? null : bio)
+                    .build();
+        });
+    }
+    
+    private ImportResult importRows(RowSource source) {
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> chunk = new ArrayList<>(DomainConstants.IMPORT_BATCH_SIZE);
+        
+        while (true) {
+            long rowNumber = progress.total + 1;
+            UserRequest request;
+            try {
+                request = source.next();
+            } catch (DatabindException e) {
+                // JSON hợp lệ nhưng sai kiểu (ví dụ name là object) - MappingIterator resync tới row tiếp theo
+                progress.total++;
+                progress.fail(rowNumber, null, ApplicationConstants.ERROR_INVALID_IMPORT_ROW + fieldsOf(e));
+                continue;
+            } catch (IOException e) {
+                // Payload hỏng thì không thể đọc tiếp một cách tin cậy - dừng, nhưng vẫn import các rows đã đọc
+                log.warn("Malformed import payload at row {}: {}", rowNumber, e.getMessage());
+                progress.total++;
+                progress.fail(rowNumber, null, ApplicationConstants.ERROR_INVALID_IMPORT_PAYLOAD);
+                break;
+            }
+            if (request == null) {
+                break;
+            }
+            progress.total++;
+            chunk.add(new ImportRow(rowNumber, request));
+            if (chunk.size() == DomainConstants.IMPORT_BATCH_SIZE) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, progress);
+        
+        log.info("Imported {} of {} users ({} failed)", progress.imported, progress.total, progress.failed);
+        return progress.toResult();
+    }
+    
+    private void importChunk(List<ImportRow> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : chunk) {
+            String violations = validate(row.request());
+            if (violations != null) {
+                progress.fail(row, violations);
+            } else if (!emails.add(row.request().getEmail())) {
+                progress.fail(row, ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
+            } else {
+                candidates.add(row);
+            }
+        }
+        
+        // Một query IN cho cả chunk thay vì existsByEmail từng row
+        Set<String> existingEmails = userBatchRepository.findExistingEmails(emails);
+        candidates.removeIf(row -> {
+            if (existingEmails.contains(row.request().getEmail())) {
+                progress.fail(row, ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
+                return true;
+            }
+            return false;
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+        
+        List<User> users = candidates.stream()
+                .map(row -> userMapper.toEntity(row.request()))
+                .toList();
+        try {
+            Integer inserted = transactionTemplate.execute(status -> userBatchRepository.batchInsert(users));
+            progress.imported += inserted != null ? inserted : 0;
+        } catch (DataIntegrityViolationException ex) {
+            // Insert đồng thời hoặc constraint khác làm fail cả batch - retry từng row để chỉ report row lỗi
+            log.debug("Import batch failed, retrying {} rows individually: {}", candidates.size(), ex.getMessage());
+            for (int i = 0; i < candidates.size(); i++) {
+                insertRow(candidates.get(i), users.get(i), progress);
+            }
+        }
+    }
+    
+    private void insertRow(ImportRow row, User user, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userBatchRepository.batchInsert(List.of(user)));
+            progress.imported++;
+        } catch (DataIntegrityViolationException ex) {
+            progress.fail(row, ConstraintViolations.isDuplicateUserEmail(ex)
+                    ? ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS
+                    : ApplicationConstants.ERROR_IMPORT_ROW_FAILED);
+        }
+    }
+    
+    /**
+     * Validate theo constraints của UserRequest
+     *
+     * @return các lỗi dạng "field: message", hoặc null khi hợp lệ
+     */
+    private String validate(UserRequest request) {
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private String fieldsOf(DatabindException e) {
+        if (!(e instanceof JsonMappingException mappingException) || mappingException.getPath().isEmpty()) {
+            return "";
+        }
+        return ": " + mappingException.getPath().stream()
+                .map(JsonMappingException.Reference::getFieldName)
+                .filter(field -> field != null)
+                .collect(Collectors.joining("."));
+    }
+    
+    private String csvValue(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index).trim() : null;
+    }
+    
+    /**
+     * Nguồn rows - trả về null khi hết input
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        UserRequest next() throws IOException;
+    }
+    
+    private record ImportRow(long rowNumber, UserRequest request) {
+    }
+    
+    /**
+     * Counters và failures (giới hạn MAX_IMPORT_FAILURES để response không tăng theo payload)
+     */
+    private static final class ImportProgress {
+        
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<ImportFailure> failures = new ArrayList<>();
+        
+        private void fail(ImportRow row, String message) {
+            fail(row.rowNumber(), row.request().getEmail(), message);
+        }
+        
+        private void fail(long rowNumber, String email, String message) {
+            failed++;
+            if (failures.size() < DomainConstants.MAX_IMPORT_FAILURES) {
+                failures.add(new ImportFailure(rowNumber, email, message));
+            }
+        }
+        
+        private ImportResult toResult() {
+            return ImportResult.builder()
+                    .total(total)
+                    .imported(imported)
+                    .failed(failed)
+                    .failures(failures)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.repository.ReadConsistency;
+import com.example.backend.application.repository.UserQueryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * UserLookupCoalescer - Gộp các lookup theo ID đồng thời thành một query IN (DataLoader-style)
+ *
+ * - Request đầu tiên mở batch và trở thành leader: chờ coalescing window rồi chạy một query cho cả batch.
+ *   Không có lookup nào khác đang chạy thì leader query ngay (cold read đơn lẻ không trả giá window)
+ * - Các request đến trong window chỉ đăng ký ID và chờ kết quả (cùng ID thì dùng chung kết quả)
+ * - Batch đầy (max-batch-size) được chạy ngay bởi request làm đầy nó
+ * - Follower chờ tối đa await-timeout, sau đó tự query ID của mình - query của leader bị treo
+ *   không kéo theo mọi request thread
+ *
+ * Query chạy trên request thread của leader - không có thread pool riêng, số query đồng thời
+ * không vượt quá trước đây. Caller không được giữ transaction/connection trong khi chờ.
+ * Window = 0 tắt coalescing (mỗi lookup một query).
+ * 
+ * Queries luôn đọc từ primary: kết quả đi vào UserResponseCache (dùng chung cho mọi user) ngay sau
+ * eviction, replica bị lag sẽ đưa row cũ trở lại cache tới hết TTL. Thread chạy query (leader hoặc
+ * refresh thread của cache) không mang principal của writer nên read-your-writes không che được.
+ */
+@Component
+@Slf4j
+public class UserLookupCoalescer {
+
+    private final UserQueryRepository userQueryRepository;
+    private final ReadConsistency readConsistency;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long awaitTimeoutNanos;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter fallbackCounter;
+
+    // Số lookups đang chạy - leader chỉ chờ window khi có lookup đồng thời khác
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final Object lock = new Object();
+    private Batch currentBatch;
+
+    public UserLookupCoalescer(
+            UserQueryRepository userQueryRepository,
+            ReadConsistency readConsistency,
+            MeterRegistry meterRegistry,
+            @Value("${users.lookup.coalescing-window:2ms}") Duration window,
+            @Value("${users.lookup.max-batch-size:100}") int maxBatchSize,
+            @Value("${users.lookup.await-timeout:1s}") Duration awaitTimeout) {
+        this.userQueryRepository = userQueryRepository;
+        this.readConsistency = readConsistency;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.awaitTimeoutNanos = awaitTimeout.toNanos();
+        this.batchSizeSummary = DistributionSummary.builder("users.lookup.batch.size")
+                .description("User IDs resolved per coalesced lookup query")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("users.lookup.fallback")
+                .description("Coalesced lookups that timed out waiting for the batch and queried directly")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load một user theo ID, có thể dùng chung query với các lookup đồng thời khác
+     */
+    public Optional<UserResponse> load(Long id) {
+        if (windowNanos <= 0) {
+            return loadDirect(id);
+        }
+        active.incrementAndGet();
+        try {
+            return loadCoalesced(id);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    private Optional<UserResponse> loadCoalesced(Long id) {
+        Batch batch;
+        CompletableFuture<Optional<UserResponse>> result;
+        boolean leader = false;
+        boolean full = false;
+        synchronized (lock) {
+            if (currentBatch == null) {
+                currentBatch = new Batch();
+                leader = true;
+            }
+            batch = currentBatch;
+            result = batch.loads.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (batch.loads.size() >= maxBatchSize) {
+                full = claim(batch);
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            if (active.get() > 1) {
+                LockSupport.parkNanos(windowNanos);
+            }
+            boolean claimed;
+            synchronized (lock) {
+                claimed = claim(batch);
+            }
+            if (claimed) {
+                dispatch(batch);
+            }
+        }
+        return await(id, result);
+    }
+
+    private Optional<UserResponse> loadDirect(Long id) {
+        return readConsistency.readFromPrimary(() -> userQueryRepository.findResponseById(id));
+    }
+
+    /**
+     * Đóng batch để không nhận thêm IDs - chỉ một thread claim được mỗi batch
+     */
+    private boolean claim(Batch batch) {
+        if (batch.dispatched) {
+            return false;
+        }
+        batch.dispatched = true;
+        if (currentBatch == batch) {
+            currentBatch = null;
+        }
+        return true;
+    }
+
+    private void dispatch(Batch batch) {
+        batchSizeSummary.record(batch.loads.size());
+        try {
+            List<UserResponse> rows = readConsistency.readFromPrimary(
+                    () -> userQueryRepository.findResponsesByIdIn(batch.loads.keySet()));
+            Map<Long, UserResponse> found = rows.stream()
+                    .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+            batch.loads.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.loads.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private Optional<UserResponse> await(Long id, CompletableFuture<Optional<UserResponse>> result) {
+        try {
+            return result.get(awaitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Coalesced lookup for user ID {} still pending after {} ms, querying directly",
+                    id, TimeUnit.NANOSECONDS.toMillis(awaitTimeoutNanos));
+            fallbackCounter.increment();
+            return loadDirect(id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for user lookup", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("User lookup failed", e.getCause());
+        }
+    }
+
+    /**
+     * IDs đang chờ query - chỉ được sửa khi giữ lock và chưa dispatched
+     */
+    private static final class Batch {
+
+        private final Map<Long, CompletableFuture<Optional<UserResponse>>> loads = new LinkedHashMap<>();
+        private boolean dispatched;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * UserResponseCache - Read-through cache cho getUserById, key là user ID
+ *
+ * - Bounded (TTL + max size); miss được load qua UserLookupCoalescer (đọc từ primary, không từ replica),
+ *   user không tồn tại thì không cache
+ * - Refresh-ahead: entry cũ hơn refresh-after được reload async, request vẫn nhận giá trị hiện tại
+ * - Evict sau khi transaction update/delete commit (UserChangedEvent). Invalidate chờ load đang chạy
+ *   của cùng key và refresh đang chạy bị bỏ, nên giá trị đọc trước commit không quay lại cache
+ *
+ * Cache là local: thay đổi từ instance khác chỉ thấy được sau refresh-after/TTL.
+ */
+@Component
+@Slf4j
+public class UserResponseCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "userResponses";
+
+    private final LoadingCache<Long, UserResponse> cache;
+
+    public UserResponseCache(
+            UserLookupCoalescer userLookupCoalescer,
+            @Value("${users.cache.ttl:5m}") Duration ttl,
+            @Value("${users.cache.refresh-after:30s}") Duration refreshAfter,
+            @Value("${users.cache.max-size:10000}") long maxSize) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats();
+        // refresh-after = 0 tắt refresh-ahead
+        if (!refreshAfter.isZero() && !refreshAfter.isNegative() && refreshAfter.compareTo(ttl) < 0) {
+            builder.refreshAfterWrite(refreshAfter);
+        }
+        this.cache = builder.build(id -> userLookupCoalescer.load(id).orElse(null));
+    }
+
+    public Optional<UserResponse> get(Long id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    /**
+     * Evict entries của các users sau khi thay đổi được commit
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidateAll(event.userIds());
+        log.debug("Evicted cached user responses for user IDs: {}", event.userIds());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
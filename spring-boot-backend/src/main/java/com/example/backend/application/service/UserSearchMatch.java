@@ -0,0 +1,32 @@
+package com.example.backend.application.service;
+
+import com.example.backend.constants.ApplicationConstants;
+
+import java.util.Arrays;
+
+/**
+ * UserSearchMatch - Cách match search term với name/email
+ */
+public enum UserSearchMatch {
+    
+    // name hoặc email bắt đầu bằng term
+    PREFIX("prefix"),
+    // name hoặc email chứa term
+    CONTAINS("contains");
+    
+    private final String param;
+    
+    UserSearchMatch(String param) {
+        this.param = param;
+    }
+    
+    /**
+     * Parse từ query parameter (prefix | contains)
+     */
+    public static UserSearchMatch fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(match -> match.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_SEARCH_MATCH));
+    }
+}
@@ -1,17 +1,41 @@
 package com.example.backend.application.service;
 
 import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.constants.DomainConstants;
+import com.example.backend.application.dto.BulkDeleteResult;
+import com.example.backend.application.dto.PageResponse;
+import com.example.backend.application.dto.UserPatchRequest;
 import com.example.backend.application.dto.UserRequest;
 import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.event.UserChangedEvent;
+import com.example.backend.application.exception.ConstraintViolations;
+import com.example.backend.application.exception.PreconditionFailedException;
 import com.example.backend.application.mapper.UserMapper;
+import com.example.backend.application.pagination.UserCursor;
+import com.example.backend.application.pagination.UserSortField;
+import com.example.backend.application.repository.UserPatchRepository;
+import com.example.backend.application.repository.UserQueryRepository;
 import com.example.backend.domain.model.User;
 import com.example.backend.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +50,10 @@ import java.util.stream.Collectors;
  * SOLID:
  * - Single Responsibility: Chỉ quản lý User business logic
  * - Dependency Inversion: Phụ thuộc vào Repository interface, không phụ thuộc vào implementation
+ * 
+ * Read path (get by ID, pages) project thẳng vào UserResponse; write path dùng entity.
+ * 
+ * Update/delete publish UserChangedEvent để các cache liên quan được evict sau commit
  */
 @Service
 @RequiredArgsConstructor
@@ -34,25 +62,32 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final UserQueryRepository userQueryRepository;
+    private final UserPatchRepository userPatchRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserResponseCache userResponseCache;
     
     /**
      * Tạo user mới
      * 
      * Business rules:
-     * - Email phải unique
+     * - Email phải unique (đảm bảo bởi UNIQUE constraint, chỉ một INSERT)
      * - Tự động set timestamps
      */
     public UserResponse createUser(UserRequest request) {
         log.debug("Creating user with email: {}", request.getEmail());
         
-        // Business validation: Check email uniqueness
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
-        }
-        
         User user = userMapper.toEntity(request);
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isDuplicateUserEmail(ex)) {
+                throw new IllegalArgumentException(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
+            }
+            throw ex;
+        }
         
         log.info("User created successfully with ID: {}", savedUser.getId());
         return userMapper.toResponse(savedUser);
@@ -60,27 +95,135 @@ public class UserService {
     
     /**
      * Lấy user theo ID
+     * 
+     * Read path dùng projection: không load password và không tạo managed entity.
+     * Đọc qua UserResponseCache; miss đồng thời được gộp thành một query IN (UserLookupCoalescer).
+     * Không mở transaction để request không giữ connection trong khi chờ batch.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse getUserById(Long id) {
         log.debug("Fetching user with ID: {}", id);
         
-        User user = userRepository.findById(id)
+        return userResponseCache.get(id)
                 .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_USER_NOT_FOUND));
+    }
+    
+    /**
+     * Lấy nhiều users theo IDs bằng một query IN
+     * 
+     * Kết quả theo thứ tự IDs trong request (bỏ trùng), IDs không tồn tại bị bỏ qua.
+     */
+    @Transactional(readOnly = true)
+    public List<UserResponse> getUsersByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > DomainConstants.MAX_BATCH_LOOKUP_SIZE) {
+            throw new IllegalArgumentException(ApplicationConstants.ERROR_TOO_MANY_IDS);
+        }
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+        log.debug("Fetching {} users by ID", uniqueIds.size());
+        
+        Map<Long, UserResponse> found = userQueryRepository.findResponsesByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+        return uniqueIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Lấy một page users bằng keyset pagination
+     * 
+     * Query lấy limit + 1 rows để biết còn page tiếp theo không; cursor trỏ vào row cuối của page.
+     * Cost mỗi page không phụ thuộc vào vị trí page (không có OFFSET).
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getUsers(UserSortField sort, Sort.Direction direction, int limit, String cursor) {
+        log.debug("Fetching users page: sort={}, direction={}, limit={}", sort, direction, limit);
+        
+        UserCursor after = cursor != null && !cursor.isBlank()
+                ? UserCursor.decode(cursor, sort, direction)
+                : null;
+        List<UserResponse> rows = findKeysetPage(sort, direction, after, Limit.of(limit + 1));
+        
+        boolean hasNext = rows.size() > limit;
+        List<UserResponse> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext
+                ? UserCursor.after(pageRows.get(pageRows.size() - 1), sort, direction).encode()
+                : null;
+        
+        return PageResponse.<UserResponse>builder()
+                .items(List.copyOf(pageRows))
+                .limit(limit)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Lấy một page users bằng offset pagination (compatibility với client dùng page number)
+     * 
+     * Cost tăng theo page number vì database vẫn phải đọc qua các rows bị skip.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getUsersPage(UserSortField sort, Sort.Direction direction, int page, int limit) {
+        log.debug("Fetching users page: sort={}, direction={}, page={}, limit={}", sort, direction, page, limit);
+        
+        Sort order = Sort.by(direction, sort.getParam()).and(Sort.by(direction, UserSortField.ID.getParam()));
+        Slice<UserResponse> slice = userQueryRepository.findResponses(PageRequest.of(page, limit, order));
         
-        return userMapper.toResponse(user);
+        return PageResponse.<UserResponse>builder()
+                .items(slice.getContent())
+                .limit(limit)
+                .hasNext(slice.hasNext())
+                .page(page)
+                .build();
+    }
+    
+    private List<UserResponse> findKeysetPage(UserSortField sort, Sort.Direction direction, UserCursor after, Limit limit) {
+        boolean ascending = direction.isAscending();
+        if (sort == UserSortField.ID) {
+            return ascending
+                    ? userQueryRepository.findResponsePageByIdAsc(after != null ? after.id() : Long.MIN_VALUE, limit)
+                    : userQueryRepository.findResponsePageByIdDesc(after != null ? after.id() : Long.MAX_VALUE, limit);
+        }
+        if (after == null) {
+            return ascending
+                    ? userQueryRepository.findResponsePageByCreatedAtAsc(limit)
+                    : userQueryRepository.findResponsePageByCreatedAtDesc(limit);
+        }
+        return ascending
+                ? userQueryRepository.findResponsePageByCreatedAtAsc(after.createdAt(), after.id(), limit)
+                : userQueryRepository.findResponsePageByCreatedAtDesc(after.createdAt(), after.id(), limit);
     }
     
     /**
-     * Lấy tất cả users
+     * Search users theo name/email (case-insensitive), ranked và phân trang theo offset
+     * 
+     * Term được lowercase và escape wildcard (%, _) - client không inject được LIKE pattern.
      */
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        log.debug("Fetching all users");
+    public PageResponse<UserResponse> searchUsers(String query, UserSearchMatch match, int page, int limit) {
+        String term = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (term.length() < DomainConstants.MIN_SEARCH_TERM_LENGTH || term.length() > DomainConstants.MAX_SEARCH_TERM_LENGTH) {
+            throw new IllegalArgumentException(ApplicationConstants.ERROR_INVALID_SEARCH_TERM);
+        }
+        log.debug("Searching users: match={}, page={}, limit={}", match, page, limit);
+        
+        String escaped = escapeLike(term);
+        PageRequest pageRequest = PageRequest.of(page, limit);
+        Slice<UserResponse> slice = switch (match) {
+            case PREFIX -> userQueryRepository.searchResponsesByPrefix(term, escaped + "%", pageRequest);
+            case CONTAINS -> userQueryRepository.searchResponsesBySubstring(term, escaped + "%", "%" + escaped + "%", pageRequest);
+        };
         
-        return userRepository.findAll().stream()
-                .map(userMapper::toResponse)
-                .collect(Collectors.toList());
+        return PageResponse.<UserResponse>builder()
+                .items(slice.getContent())
+                .limit(limit)
+                .hasNext(slice.hasNext())
+                .page(page)
+                .build();
     }
     
     /**
@@ -88,39 +231,124 @@ public class UserService {
      * 
      * Business rules:
      * - Email có thể thay đổi nhưng phải unique
-     * - Tự động update updatedAt timestamp
+     * - Tự động update updatedAt timestamp và version
      */
     public UserResponse updateUser(Long id, UserRequest request) {
+        return updateUser(id, request, null);
+    }
+    
+    /**
+     * Update user với optimistic concurrency (If-Match)
+     * 
+     * @param expectedVersions versions mà client chấp nhận; null = không kiểm tra.
+     *                         Update đồng thời sau khi kiểm tra vẫn bị chặn bởi @Version khi flush.
+     */
+    public UserResponse updateUser(Long id, UserRequest request, Set<Long> expectedVersions) {
         log.debug("Updating user with ID: {}", id);
         
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_USER_NOT_FOUND));
         
+        if (expectedVersions != null && !expectedVersions.contains(user.getVersion())) {
+            throw new PreconditionFailedException(ApplicationConstants.ERROR_USER_VERSION_MISMATCH);
+        }
+        
         // Business validation: Check email uniqueness (nếu email thay đổi)
         if (!user.getEmail().equals(request.getEmail()) && 
             userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
         }
         
+        String previousEmail = user.getEmail();
         userMapper.updateEntity(user, request);
-        User updatedUser = userRepository.save(user);
+        // Flush để response (và ETag) có version mới
+        User updatedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(id, previousEmail, updatedUser.getEmail()));
         
         log.info("User updated successfully with ID: {}", updatedUser.getId());
         return userMapper.toResponse(updatedUser);
     }
     
     /**
-     * Xóa user
+     * Partial update - chỉ các fields có trong request, bằng một UPDATE statement trả về state mới
+     * 
+     * Không load entity và không check email trước: email trùng bị chặn bởi UNIQUE constraint,
+     * If-Match được kiểm tra trong WHERE của UPDATE. Chỉ khi không có row nào được update mới
+     * cần thêm một query để phân biệt 404 với 412.
+     * 
+     * @param expectedVersions versions mà client chấp nhận; null = không kiểm tra
+     */
+    public UserResponse patchUser(Long id, UserPatchRequest request, Set<Long> expectedVersions) {
+        log.debug("Patching user with ID: {}", id);
+        
+        if (!request.hasChanges()) {
+            UserResponse current = userQueryRepository.findResponseById(id)
+                    .orElseThrow(() -> new IllegalArgumentException(ApplicationConstants.ERROR_USER_NOT_FOUND));
+            if (expectedVersions != null && !expectedVersions.contains(current.getVersion())) {
+                throw new PreconditionFailedException(ApplicationConstants.ERROR_USER_VERSION_MISMATCH);
+            }
+            return current;
+        }
+        
+        UserResponse patched;
+        try {
+            patched = userPatchRepository.patch(id, request, expectedVersions)
+                    .orElseThrow(() -> expectedVersions != null && userRepository.existsById(id)
+                            ? new PreconditionFailedException(ApplicationConstants.ERROR_USER_VERSION_MISMATCH)
+                            : new IllegalArgumentException(ApplicationConstants.ERROR_USER_NOT_FOUND));
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isDuplicateUserEmail(ex)) {
+                throw new IllegalArgumentException(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS);
+            }
+            throw ex;
+        }
+        // Email cũ không được trả về từ UPDATE - caches theo email tự tìm entry cũ từ user ID
+        eventPublisher.publishEvent(UserChangedEvent.of(id, patched.getEmail()));
+        
+        log.info("User patched successfully with ID: {}", id);
+        return patched;
+    }
+    
+    /**
+     * Xóa user - một DELETE statement, 0 rows bị xóa = user không tồn tại
+     * 
+     * Email không được load nên caches evict theo user ID.
      */
     public void deleteUser(Long id) {
         log.debug("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
+        if (userRepository.deleteRowById(id) == 0) {
             throw new IllegalArgumentException(ApplicationConstants.ERROR_USER_NOT_FOUND);
         }
         
-        userRepository.deleteById(id);
+        eventPublisher.publishEvent(UserChangedEvent.of(id));
         log.info("User deleted successfully with ID: {}", id);
     }
+    
+    /**
+     * Bulk delete theo IDs (cleanup jobs) - một DELETE ... IN, IDs không tồn tại bị bỏ qua
+     * 
+     * @return số users thực sự bị xóa
+     */
+    public BulkDeleteResult deleteUsers(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > DomainConstants.MAX_BULK_DELETE_SIZE) {
+            throw new IllegalArgumentException(ApplicationConstants.ERROR_TOO_MANY_DELETE_IDS);
+        }
+        if (uniqueIds.isEmpty()) {
+            return new BulkDeleteResult(0, 0);
+        }
+        log.debug("Deleting {} users by ID", uniqueIds.size());
+        
+        int deleted = userRepository.deleteRowsByIdIn(uniqueIds);
+        // Không biết IDs nào thực sự tồn tại - evict tất cả IDs được yêu cầu, một event cho cả batch
+        eventPublisher.publishEvent(UserChangedEvent.ofAll(uniqueIds));
+        
+        log.info("Bulk deleted {} of {} requested users", deleted, uniqueIds.size());
+        return new BulkDeleteResult(uniqueIds.size(), deleted);
+    }
+    
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
-
@@ -31,6 +31,21 @@ public final class ApiConstants {
     // User endpoints
     public static final String USERS_BASE_PATH = API_BASE_PATH + "/users";
     public static final String USERS_BY_ID = USERS_BASE_PATH + "/{id}";
+    public static final String USERS_BATCH = USERS_BASE_PATH + "/batch";
+    public static final String USERS_SEARCH = USERS_BASE_PATH + "/search";
+    public static final String USERS_EXPORT = USERS_BASE_PATH + "/export";
+    public static final String USERS_IMPORT = USERS_BASE_PATH + "/import";
+    
+    // Content type cho PATCH (RFC 7396 JSON merge patch)
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    
+    // Idempotency-Key cho POST (create user, register) - response đầu tiên được replay
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    
+    // JWKS - public keys để service khác verify JWT locally
+    public static final String JWKS = "/.well-known/jwks.json";
     
     // Swagger/OpenAPI endpoints
     public static final String SWAGGER_UI_BASE = "/swagger-ui";
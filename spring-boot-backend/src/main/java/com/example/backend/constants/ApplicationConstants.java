@@ -23,6 +23,29 @@ public final class ApplicationConstants {
     public static final String ERROR_INVALID_CREDENTIALS = "Invalid email or password";
     public static final String ERROR_UNAUTHORIZED = "Unauthorized access";
     public static final String ERROR_FORBIDDEN = "Access forbidden";
+    public static final String ERROR_SERVICE_BUSY = "Service is busy, please retry later";
+    public static final String ERROR_INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
+    public static final String ERROR_INVALID_CURSOR = "Invalid pagination cursor";
+    public static final String ERROR_INVALID_EXPORT_FORMAT = "Invalid export format, allowed values: ndjson, csv";
+    public static final String ERROR_INVALID_SORT_FIELD = "Invalid sort field, allowed values: id, createdAt";
+    public static final String ERROR_USER_VERSION_MISMATCH = "User has been modified, reload it and retry";
+    public static final String ERROR_CONCURRENT_MODIFICATION = "Resource was modified concurrently, please retry";
+    public static final String ERROR_INVALID_SEARCH_TERM = "Search term must be between "
+            + DomainConstants.MIN_SEARCH_TERM_LENGTH + " and " + DomainConstants.MAX_SEARCH_TERM_LENGTH + " characters";
+    public static final String ERROR_INVALID_SEARCH_MATCH = "Invalid search match, allowed values: prefix, contains";
+    public static final String ERROR_TOO_MANY_IDS = "Too many IDs, maximum is " + DomainConstants.MAX_BATCH_LOOKUP_SIZE;
+    public static final String ERROR_TOO_MANY_DELETE_IDS = "Too many IDs, maximum is " + DomainConstants.MAX_BULK_DELETE_SIZE;
+    public static final String ERROR_INVALID_IMPORT_HEADER = "Invalid CSV header, required columns: name, email";
+    public static final String ERROR_INVALID_IMPORT_PAYLOAD = "Malformed import payload, remaining rows were not read";
+    public static final String ERROR_IMPORT_ROW_FAILED = "Row could not be imported";
+    public static final String ERROR_INVALID_IMPORT_ROW = "Row has a value of the wrong type";
+    public static final String ERROR_INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be between 1 and "
+            + ApiConstants.MAX_IDEMPOTENCY_KEY_LENGTH + " characters";
+    public static final String ERROR_IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used with a different request body";
+    public static final String ERROR_IDEMPOTENT_CREDENTIALS_NOT_REPLAYED = "A request with this Idempotency-Key already succeeded; "
+            + "its response contained credentials and is not replayed, please log in";
+    public static final String ERROR_REQUEST_BODY_TOO_LARGE = "Request body is too large for an idempotent request";
+    public static final String ERROR_IDEMPOTENCY_KEY_IN_PROGRESS = "A request with this Idempotency-Key is still in progress, please retry later";
     
     // Success messages
     public static final String SUCCESS_REGISTRATION = "Registration successful";
@@ -37,6 +60,7 @@ public final class ApplicationConstants {
     public static final String VALIDATION_EMAIL_INVALID = "Email should be valid";
     public static final String VALIDATION_PASSWORD_REQUIRED = "Password is required";
     public static final String VALIDATION_PASSWORD_TOO_SHORT = "Password must be at least 6 characters";
+    public static final String VALIDATION_REFRESH_TOKEN_REQUIRED = "Refresh token is required";
     
     // Date formats
     public static final String DATE_FORMAT = "yyyy-MM-dd";
@@ -20,11 +20,59 @@ public final class ConfigConstants {
     // JWT Configuration keys
     public static final String JWT_SECRET_KEY = "jwt.secret";
     public static final String JWT_EXPIRATION_KEY = "jwt.expiration";
+    public static final String JWT_CACHE_MAX_SIZE_KEY = "jwt.cache.max-size";
+    public static final String JWT_REFRESH_EXPIRATION_KEY = "jwt.refresh-token.expiration";
+    public static final String JWT_REFRESH_CLEANUP_INTERVAL_KEY = "jwt.refresh-token.cleanup-interval";
+    public static final String JWT_REVOCATION_PRUNE_INTERVAL_KEY = "jwt.revocation.prune-interval";
+    public static final String JWT_SIGNING_ALGORITHM_KEY = "jwt.signing.algorithm";
+    public static final String JWT_SIGNING_KEYSTORE_PATH_KEY = "jwt.signing.keystore.path";
+    public static final String JWT_SIGNING_KEYSTORE_PASSWORD_KEY = "jwt.signing.keystore.password";
+    public static final String JWT_SIGNING_ACTIVE_KEY_ID_KEY = "jwt.signing.active-key-id";
+    public static final String JWT_SIGNING_ALLOW_EPHEMERAL_KEY = "jwt.signing.allow-ephemeral";
+    
+    // Security cache Configuration keys
+    public static final String USER_CACHE_TTL_KEY = "security.user-cache.ttl";
+    public static final String USER_CACHE_MAX_SIZE_KEY = "security.user-cache.max-size";
+    public static final String PASSWORD_HASHING_POOL_SIZE_KEY = "security.password-hashing.pool-size";
+    public static final String PASSWORD_HASHING_QUEUE_CAPACITY_KEY = "security.password-hashing.queue-capacity";
+    public static final String PASSWORD_ENCODING_STRENGTH_KEY = "security.password-encoding.strength";
+    public static final String PASSWORD_ENCODING_TARGET_HASH_TIME_KEY = "security.password-encoding.target-hash-time";
+    public static final String PASSWORD_ENCODING_MIN_STRENGTH_KEY = "security.password-encoding.min-strength";
+    public static final String PASSWORD_ENCODING_MAX_STRENGTH_KEY = "security.password-encoding.max-strength";
+    
+    // User lookup coalescing / cache Configuration keys
+    public static final String USER_LOOKUP_COALESCING_WINDOW_KEY = "users.lookup.coalescing-window";
+    public static final String USER_LOOKUP_MAX_BATCH_SIZE_KEY = "users.lookup.max-batch-size";
+    public static final String USER_LOOKUP_AWAIT_TIMEOUT_KEY = "users.lookup.await-timeout";
+    public static final String USER_RESPONSE_CACHE_TTL_KEY = "users.cache.ttl";
+    public static final String USER_RESPONSE_CACHE_REFRESH_AFTER_KEY = "users.cache.refresh-after";
+    public static final String USER_RESPONSE_CACHE_MAX_SIZE_KEY = "users.cache.max-size";
+    public static final String LAST_LOGIN_FLUSH_INTERVAL_KEY = "users.last-login.flush-interval";
+    public static final String LAST_LOGIN_BUFFER_CAPACITY_KEY = "users.last-login.buffer-capacity";
+    
+    // Idempotency-Key Configuration keys
+    public static final String IDEMPOTENCY_STORE_KEY = "idempotency.store";
+    public static final String IDEMPOTENCY_TTL_KEY = "idempotency.ttl";
+    public static final String IDEMPOTENCY_LOCK_TIMEOUT_KEY = "idempotency.lock-timeout";
+    public static final String IDEMPOTENCY_MAX_BODY_SIZE_KEY = "idempotency.max-body-size";
+    public static final String IDEMPOTENCY_MAX_ENTRIES_KEY = "idempotency.max-entries";
+    public static final String IDEMPOTENCY_CLEANUP_INTERVAL_KEY = "idempotency.cleanup-interval";
+    
+    // JSON serialization Configuration keys
+    public static final String JSON_OPTIMIZED_SERIALIZATION_KEY = "json.optimized-serialization.enabled";
     
     // Database Configuration keys
+    public static final String ID_GENERATOR_NODE_ID_KEY = "id-generator.node-id";
+    public static final String ID_GENERATOR_DERIVE_FROM_HOSTNAME_KEY = "id-generator.derive-from-hostname";
     public static final String DB_URL_KEY = "spring.datasource.url";
     public static final String DB_USERNAME_KEY = "spring.datasource.username";
     public static final String DB_PASSWORD_KEY = "spring.datasource.password";
+    public static final String DB_REPLICA_URLS_KEY = "datasource.replicas.urls";
+    public static final String DB_REPLICA_USERNAME_KEY = "datasource.replicas.username";
+    public static final String DB_REPLICA_PASSWORD_KEY = "datasource.replicas.password";
+    public static final String DB_REPLICA_CONNECTION_TIMEOUT_KEY = "datasource.replicas.connection-timeout";
+    public static final String DB_REPLICA_FAILURE_BACKOFF_KEY = "datasource.replicas.failure-backoff";
+    public static final String DB_REPLICA_STICKY_WINDOW_KEY = "datasource.replicas.sticky-window";
     
     // Server Configuration keys
     public static final String SERVER_PORT_KEY = "server.port";
@@ -30,9 +30,32 @@ public final class DomainConstants {
     // Default values
     public static final String DEFAULT_USER_ROLE = "USER";
     
+    // Password placeholder cho user được tạo không có password (không match với bất kỳ hash nào)
+    public static final String UNUSABLE_PASSWORD = "!";
+    
     // Pagination defaults
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
     public static final int DEFAULT_PAGE_NUMBER = 0;
+    
+    // Search - term ngắn hơn MIN không dùng được trigram index và match quá nhiều rows
+    public static final int MIN_SEARCH_TERM_LENGTH = 3;
+    public static final int MAX_SEARCH_TERM_LENGTH = 100;
+    
+    // Batch lookup - số IDs tối đa mỗi request / mỗi query IN
+    public static final int MAX_BATCH_LOOKUP_SIZE = 100;
+    
+    // Bulk delete - số IDs tối đa mỗi request (một DELETE ... IN)
+    public static final int MAX_BULK_DELETE_SIZE = 1000;
+    
+    // Last login write-behind - số users mỗi JDBC batch UPDATE khi flush
+    public static final int LAST_LOGIN_FLUSH_BATCH_SIZE = 500;
+    
+    // Export - số rows mỗi lần fetch từ database và mỗi lần flush output (rows là DTO projection, không managed)
+    public static final int EXPORT_FETCH_SIZE = 500;
+    
+    // Import - số rows mỗi JDBC batch (một transaction) và số failures tối đa trả về trong response
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int MAX_IMPORT_FAILURES = 1000;
 }
 
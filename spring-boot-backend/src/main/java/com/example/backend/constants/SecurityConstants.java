@@ -26,10 +26,16 @@ public final class SecurityConstants {
     public static final String JWT_SUBJECT_CLAIM = "sub";
     public static final String JWT_ISSUED_AT_CLAIM = "iat";
     public static final String JWT_EXPIRATION_CLAIM = "exp";
+    public static final String JWT_ID_CLAIM = "jti";
+    public static final String JWT_ROLES_CLAIM = "roles";
+    public static final String JWT_USER_ID_CLAIM = "uid";
     
     // Security Headers
     public static final String CORS_EXPOSED_HEADERS = "Authorization";
     
+    // Password encoding - {id} prefix của DelegatingPasswordEncoder
+    public static final String PASSWORD_ENCODER_BCRYPT_ID = "bcrypt";
+    
     // Password validation
     public static final int MIN_PASSWORD_LENGTH = 6;
     public static final int MAX_PASSWORD_LENGTH = 100;
@@ -38,5 +44,10 @@ public final class SecurityConstants {
     public static final long DEFAULT_TOKEN_EXPIRATION = 86400000L; // 24 hours
     public static final long SHORT_TOKEN_EXPIRATION = 3600000L; // 1 hour
     public static final long LONG_TOKEN_EXPIRATION = 604800000L; // 7 days
+    public static final long ACCESS_TOKEN_EXPIRATION = 900000L; // 15 minutes
+    public static final long REFRESH_TOKEN_EXPIRATION = LONG_TOKEN_EXPIRATION;
+    
+    // Refresh token - số random bytes (opaque, Base64URL encoded)
+    public static final int REFRESH_TOKEN_BYTES = 32;
 }
 
@@ -2,6 +2,7 @@ package com.example.backend.domain.model;
 
 import com.example.backend.constants.ApplicationConstants;
 import com.example.backend.constants.DomainConstants;
+import com.example.backend.domain.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -9,6 +10,9 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * User Entity - Domain Model
@@ -27,8 +31,9 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
 
+    // ID sinh ở application trước INSERT (time-ordered) - không cần round trip, cho phép batch INSERT
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @NotBlank(message = ApplicationConstants.VALIDATION_NAME_REQUIRED)
@@ -50,10 +55,15 @@ public class User {
     @Column(nullable = false, length = 255)
     private String password;
 
+    /**
+     * Roles trong bảng user_roles - LAZY, query cần authorities fetch cùng user (@EntityGraph/JOIN FETCH)
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 20)
+    @Column(name = "role", nullable = false, length = 50)
     @Builder.Default
-    private Role role = Role.USER;
+    private Set<Role> roles = EnumSet.of(Role.USER);
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,13 +71,20 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic locking version - tăng mỗi lần update, là ETag của user resource
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Lifecycle callback - tự động set createdAt trước khi persist
      */
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = now();
+        updatedAt = createdAt;
     }
 
     /**
@@ -75,7 +92,15 @@ public class User {
      */
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
+    }
+
+    /**
+     * Timestamp theo độ chính xác của database (microseconds), để response sau khi save
+     * giống hệt response đọc lại từ database
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
 
@@ -0,0 +1,15 @@
+package com.example.backend.domain.model.id;
+
+/**
+ * IdGenerator - Nguồn ID cho entities dùng @TimeOrderedId
+ * 
+ * Domain chỉ cần interface này; implementation (TimeOrderedIdGenerator) thuộc Infrastructure Layer
+ * và được truyền vào Hibernate qua settings.
+ */
+public interface IdGenerator {
+    
+    /**
+     * ID mới, tăng dần và không trùng trong phạm vi instance
+     */
+    long nextId();
+}
@@ -0,0 +1,20 @@
+package com.example.backend.domain.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * TimeOrderedId - Đánh dấu @Id được gán bằng IdGenerator (time-ordered) trước khi INSERT
+ * 
+ * Entity có ID ngay khi persist (không cần flush), và Hibernate có thể batch INSERT
+ * (khác với GenerationType.IDENTITY).
+ */
+@IdGeneratorType(TimeOrderedIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,46 @@
+package com.example.backend.domain.model.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * TimeOrderedIdentifierGenerator - Hibernate generator cho @TimeOrderedId
+ * 
+ * Hibernate tự khởi tạo generator (không qua Spring), nên IdGenerator dùng chung được truyền vào
+ * qua Hibernate settings (xem IdGeneratorConfig). Dùng chung một instance với JDBC batch insert
+ * để hai đường insert không sinh trùng ID.
+ */
+public class TimeOrderedIdentifierGenerator implements BeforeExecutionGenerator {
+    
+    public static final String GENERATOR_SETTING = "app.id-generator.instance";
+    
+    private final IdGenerator idGenerator;
+    
+    public TimeOrderedIdentifierGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object instance = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(GENERATOR_SETTING);
+        if (!(instance instanceof IdGenerator generator)) {
+            throw new IllegalStateException("No IdGenerator registered under Hibernate setting " + GENERATOR_SETTING);
+        }
+        this.idGenerator = generator;
+    }
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return idGenerator.nextId();
+    }
+    
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.domain.repository;
+
+import com.example.backend.domain.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * RefreshToken Repository - Data access cho refresh tokens
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    /**
+     * Tìm token theo hash, fetch luôn user và roles để mint access token mới trong cùng một query
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user u LEFT JOIN FETCH u.roles WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+    
+    /**
+     * Xóa token theo hash - trả về số row bị xóa (0 nếu token đã được dùng/revoke)
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+    
+    /**
+     * Xóa các token đã hết hạn
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,39 @@
+package com.example.backend.domain.repository;
+
+import com.example.backend.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * UserBatchRepository - Domain Layer interface cho bulk operations trên users
+ * 
+ * Bulk insert được implement trực tiếp bằng JDBC batch ở Infrastructure Layer (JdbcUserBatchRepository):
+ * IDs time-ordered được gán trước khi insert, users và user_roles mỗi bảng một batch, và không có
+ * entity nào được đăng ký vào persistence context (memory không tăng theo kích thước import).
+ */
+public interface UserBatchRepository {
+    
+    /**
+     * Trả về các email (trong danh sách) đã tồn tại - một query IN duy nhất
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+    
+    /**
+     * Insert users bằng một JDBC batch (không qua persistence context) - ID được gán vào từng User
+     * 
+     * @return số rows được insert
+     */
+    int batchInsert(List<User> users);
+    
+    /**
+     * Ghi last_login_at cho nhiều users bằng một JDBC batch - không ghi đè timestamp mới hơn,
+     * không thay đổi version/updated_at (không phải thay đổi của user resource)
+     * 
+     * @return số rows được update
+     */
+    int batchUpdateLastLogin(Map<Long, LocalDateTime> lastLogins);
+}
@@ -1,9 +1,15 @@
 package com.example.backend.domain.repository;
 
 import com.example.backend.domain.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -16,19 +22,53 @@ import java.util.Optional;
  * - Repository interface thuộc Domain Layer
  * - Implementation (Spring Data JPA) thuộc Infrastructure Layer
  * - Service layer chỉ phụ thuộc vào interface, không phụ thuộc vào implementation
+ * 
+ * Query methods mặc định chạy trong transaction readOnly (được route tới read replica khi
+ * gọi ngoài transaction của service); methods ghi khai báo @Transactional riêng.
+ * 
+ * Chỉ làm việc với domain model (User). Read path trả về UserResponse projection nằm ở
+ * application layer (UserQueryRepository).
  */
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
-     * Tìm user theo email
-     * Spring Data JPA tự động generate query: SELECT * FROM users WHERE email = ?
+     * Tìm user theo email, roles được fetch trong cùng query (LEFT JOIN user_roles)
+     * để build authorities không cần query thêm
      */
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     
     /**
      * Kiểm tra email đã tồn tại chưa
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Cập nhật password hash bằng một UPDATE duy nhất (dùng khi re-encode hash cũ)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+    
+    /**
+     * Xóa user bằng một DELETE duy nhất (không load entity); user_roles/refresh_tokens được
+     * xóa bởi ON DELETE CASCADE của database
+     * 
+     * @return số rows bị xóa (0 = user không tồn tại)
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :id", nativeQuery = true)
+    int deleteRowById(@Param("id") Long id);
+    
+    /**
+     * Bulk delete theo IDs - một DELETE ... IN, IDs không tồn tại bị bỏ qua
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id IN (:ids)", nativeQuery = true)
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
-
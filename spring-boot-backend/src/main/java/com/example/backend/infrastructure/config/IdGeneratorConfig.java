@@ -0,0 +1,62 @@
+package com.example.backend.infrastructure.config;
+
+import com.example.backend.domain.model.id.TimeOrderedIdentifierGenerator;
+import com.example.backend.infrastructure.persistence.TimeOrderedIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * IdGeneratorConfig - Application-side ID generator cho entities dùng @TimeOrderedId
+ * 
+ * Node ID phải khác nhau giữa các instance chạy đồng thời, nếu không hai instance có thể sinh
+ * trùng ID trong cùng millisecond. Vì vậy không có default:
+ * - id-generator.node-id (ID_GENERATOR_NODE_ID) set tường minh, profiles dev/test set sẵn 0
+ * - hoặc id-generator.derive-from-hostname=true: lấy ordinal của StatefulSet pod (hostname "app-3" → 3)
+ * - không có cả hai thì startup fail
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+    
+    // StatefulSet pod hostname: <name>-<ordinal>
+    private static final Pattern HOSTNAME_ORDINAL = Pattern.compile("-(\\d+)$");
+    
+    @Bean
+    public TimeOrderedIdGenerator timeOrderedIdGenerator(
+            @Value("${id-generator.node-id:}") String nodeId,
+            @Value("${id-generator.derive-from-hostname:false}") boolean deriveFromHostname) {
+        int resolved = resolveNodeId(nodeId, deriveFromHostname, System.getenv("HOSTNAME"));
+        log.info("Time-ordered ID generator using node ID {}", resolved);
+        return new TimeOrderedIdGenerator(resolved);
+    }
+    
+    /**
+     * Truyền generator vào Hibernate để @TimeOrderedId dùng chung instance với Spring
+     */
+    @Bean
+    public HibernatePropertiesCustomizer timeOrderedIdGeneratorCustomizer(TimeOrderedIdGenerator timeOrderedIdGenerator) {
+        return properties -> properties.put(TimeOrderedIdentifierGenerator.GENERATOR_SETTING, timeOrderedIdGenerator);
+    }
+    
+    static int resolveNodeId(String nodeId, boolean deriveFromHostname, String hostname) {
+        if (nodeId != null && !nodeId.isBlank()) {
+            return Integer.parseInt(nodeId.trim());
+        }
+        if (deriveFromHostname) {
+            Matcher matcher = HOSTNAME_ORDINAL.matcher(hostname == null ? "" : hostname);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Cannot derive ID generator node ID: hostname '" + hostname
+                        + "' has no StatefulSet ordinal suffix");
+            }
+            return Integer.parseInt(matcher.group(1));
+        }
+        throw new IllegalStateException("No ID generator node ID configured: set id-generator.node-id"
+                + " (unique per running instance) or id-generator.derive-from-hostname=true for StatefulSet pods");
+    }
+}
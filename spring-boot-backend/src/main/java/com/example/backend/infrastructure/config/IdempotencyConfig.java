@@ -0,0 +1,60 @@
+package com.example.backend.infrastructure.config;
+
+import com.example.backend.constants.ApiConstants;
+import com.example.backend.infrastructure.idempotency.IdempotencyFilter;
+import com.example.backend.infrastructure.idempotency.IdempotencyStore;
+import com.example.backend.infrastructure.idempotency.JdbcIdempotencyStore;
+import com.example.backend.infrastructure.idempotency.LocalIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * IdempotencyConfig - Idempotency-Key cho POST /api/users và POST /api/auth/register
+ *
+ * - idempotency.store=local (default): Caffeine, bounded theo max-entries
+ * - idempotency.store=jdbc: bảng idempotency_keys, dùng khi chạy nhiều instances sau load balancer
+ *
+ * Filter được đăng ký sau Spring Security filter chain để key được scope theo user.
+ * Response của register chứa tokens nên không được lưu (credential path).
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "local", matchIfMissing = true)
+    public LocalIdempotencyStore localIdempotencyStore(
+            @Value("${idempotency.ttl:1h}") Duration ttl,
+            @Value("${idempotency.max-entries:10000}") long maxEntries) {
+        return new LocalIdempotencyStore(ttl, maxEntries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl:1h}") Duration ttl,
+            @Value("${idempotency.lock-timeout:10s}") Duration lockTimeout,
+            @Value("${idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                idempotencyStore, objectMapper, ttl, lockTimeout, maxBodySize.toBytes(), Set.of(ApiConstants.AUTH_REGISTER)));
+        registration.addUrlPatterns(ApiConstants.USERS_BASE_PATH, ApiConstants.AUTH_REGISTER);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.infrastructure.config;
+
+import com.example.backend.infrastructure.json.IsoLocalDateTimeSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * JacksonConfig - Serialization path nhanh cho JSON responses
+ *
+ * Spring Boot tự đăng ký các Module beans vào ObjectMapper dùng chung (MVC converters, export, filters):
+ * - BlackbirdModule: getters/constructors được gọi qua generated lambdas (LambdaMetafactory)
+ *   thay cho Method.invoke reflection
+ * - IsoLocalDateTimeSerializer: format LocalDateTime không qua DateTimeFormatter, output không đổi
+ *
+ * json.optimized-serialization.enabled=false để quay về serializers mặc định của Jackson.
+ */
+@Configuration
+@ConditionalOnProperty(name = "json.optimized-serialization.enabled", havingValue = "true", matchIfMissing = true)
+public class JacksonConfig {
+
+    private static final String ISO_DATE_TIME_MODULE = "IsoLocalDateTimeModule";
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module isoLocalDateTimeModule() {
+        return new SimpleModule(ISO_DATE_TIME_MODULE)
+                .addSerializer(LocalDateTime.class, IsoLocalDateTimeSerializer.INSTANCE);
+    }
+}
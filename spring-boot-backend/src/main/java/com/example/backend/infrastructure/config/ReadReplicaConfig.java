@@ -0,0 +1,99 @@
+package com.example.backend.infrastructure.config;
+
+import com.example.backend.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReadReplicaConfig - Primary + read replicas khi datasource.replicas.urls được cấu hình
+ *
+ * - Primary: Hikari pool từ spring.datasource.* (như auto-configuration)
+ * - Replicas: cùng pool settings/credentials với primary (trừ khi override), connection-timeout ngắn
+ *   để failover nhanh, không fail startup khi replica chưa sẵn sàng
+ * - DataSource @Primary (JPA, Flyway, JdbcTemplate) = LazyConnectionDataSourceProxy(ReplicaRoutingDataSource)
+ *
+ * Không cấu hình replicas thì class này không được load và Spring Boot tự tạo DataSource như cũ.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:}") String username,
+            @Value("${datasource.replicas.password:}") String password,
+            @Value("${datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${datasource.replicas.failure-backoff:30s}") Duration failureBackoff,
+            @Value("${datasource.replicas.sticky-window:5s}") Duration stickyWindow) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + replicas.size());
+            if (!username.isBlank()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+        log.info("Routing read-only transactions to {} read replica(s), sticky window {}", replicas.size(), stickyWindow);
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, failureBackoff, stickyWindow,
+                ReadReplicaConfig::currentUser);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Key read-your-writes: username đã authenticate, anonymous thì không sticky
+     */
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
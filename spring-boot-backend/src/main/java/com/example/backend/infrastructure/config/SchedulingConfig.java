@@ -0,0 +1,18 @@
+package com.example.backend.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * SchedulingConfig - Bật @Scheduled cho các background jobs
+ * 
+ * Jobs:
+ * - Prune revoked access token IDs đã hết hạn (TokenRevocationList)
+ * - Xóa refresh tokens đã hết hạn (RefreshTokenService)
+ * - Flush last-login timestamps đang buffer (LastLoginTracker)
+ * - Xóa idempotency keys đã hết hạn (JdbcIdempotencyStore)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
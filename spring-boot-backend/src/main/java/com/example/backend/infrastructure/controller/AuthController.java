@@ -2,9 +2,11 @@ package com.example.backend.infrastructure.controller;
 
 import com.example.backend.application.dto.AuthResponse;
 import com.example.backend.application.dto.LoginRequest;
+import com.example.backend.application.dto.RefreshTokenRequest;
 import com.example.backend.application.dto.RegisterRequest;
 import com.example.backend.application.service.AuthenticationService;
 import com.example.backend.constants.ApiConstants;
+import com.example.backend.constants.SecurityConstants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,6 +21,8 @@ import org.springframework.web.bind.annotation.*;
  * Public endpoints (không cần authentication):
  * - POST /api/auth/register - Register new user
  * - POST /api/auth/login - Login user
+ * - POST /api/auth/refresh - Đổi refresh token lấy access token mới
+ * - POST /api/auth/logout - Revoke access token và refresh token
  */
 @RestController
 @RequestMapping(ApiConstants.AUTH_BASE_PATH)
@@ -44,5 +48,25 @@ public class AuthController {
         AuthResponse response = authenticationService.login(request);
         return ResponseEntity.ok(response);
     }
+    
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new token pair")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("POST {} - Refreshing access token", ApiConstants.AUTH_REFRESH);
+        AuthResponse response = authenticationService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Logout user", description = "Revoke the current access token and refresh token")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = SecurityConstants.AUTHORIZATION_HEADER, required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        log.info("POST {} - User logout", ApiConstants.AUTH_LOGOUT);
+        String accessToken = authHeader != null && authHeader.startsWith(SecurityConstants.BEARER_PREFIX)
+                ? authHeader.substring(SecurityConstants.BEARER_PREFIX_LENGTH)
+                : null;
+        authenticationService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 }
-
@@ -0,0 +1,39 @@
+package com.example.backend.infrastructure.controller;
+
+import com.example.backend.constants.ApiConstants;
+import com.example.backend.infrastructure.security.JwtService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwksController - Publish public keys dùng để verify JWT (RFC 7517)
+ * 
+ * Public endpoint: service khác fetch và cache JWK Set, sau đó verify token locally
+ * theo kid thay vì gọi lại backend này.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "JSON Web Key Set endpoint")
+public class JwksController {
+    
+    // Client được cache JWK Set trong thời gian ngắn; key mới được publish trước khi dùng để ký
+    private static final long JWKS_MAX_AGE_MINUTES = 5;
+    
+    private final JwtService jwtService;
+    
+    @GetMapping(ApiConstants.JWKS)
+    @Operation(summary = "Get JWK Set", description = "Public keys used to verify access tokens")
+    public ResponseEntity<Map<String, Object>> getJwkSet() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(JWKS_MAX_AGE_MINUTES, TimeUnit.MINUTES).cachePublic())
+                .body(jwtService.getJwkSet());
+    }
+}
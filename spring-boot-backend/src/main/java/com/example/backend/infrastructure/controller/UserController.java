@@ -1,19 +1,36 @@
 package com.example.backend.infrastructure.controller;
 
+import com.example.backend.application.dto.BulkDeleteResult;
+import com.example.backend.application.dto.ImportResult;
+import com.example.backend.application.dto.PageResponse;
+import com.example.backend.application.dto.UserPatchRequest;
 import com.example.backend.application.dto.UserRequest;
 import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.pagination.UserSortField;
+import com.example.backend.application.service.UserExportFormat;
+import com.example.backend.application.service.UserExportService;
+import com.example.backend.application.service.UserImportService;
+import com.example.backend.application.service.UserSearchMatch;
 import com.example.backend.application.service.UserService;
 import com.example.backend.constants.ApiConstants;
+import com.example.backend.constants.DomainConstants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -28,9 +45,17 @@ import java.util.List;
  * RESTful API Design:
  * - POST /api/users - Create
  * - GET /api/users/{id} - Read one
- * - GET /api/users - Read all
- * - PUT /api/users/{id} - Update
- * - DELETE /api/users/{id} - Delete
+ * - GET /api/users/search?q=... - Search theo name/email (prefix hoặc substring), ranked
+ * - GET /api/users/batch?ids=1,2,3 - Read nhiều users bằng một query
+ * - GET /api/users - Read page (keyset: limit + cursor, hoặc offset: page + limit)
+ * - GET /api/users/export - Stream toàn bộ users (NDJSON/CSV)
+ * - POST /api/users/import - Bulk import (JSON array/CSV), report lỗi theo row
+ * - PUT /api/users/{id} - Update (If-Match cho optimistic concurrency)
+ * - PATCH /api/users/{id} - Partial update (JSON merge patch), một UPDATE statement
+ * - DELETE /api/users/{id} - Delete (một DELETE statement)
+ * - DELETE /api/users?ids=1,2,3 - Bulk delete (cleanup jobs)
+ * 
+ * GET responses có strong ETag; If-None-Match khớp thì trả về 304 không có body.
  */
 @RestController
 @RequestMapping(ApiConstants.USERS_BASE_PATH)
@@ -41,6 +66,8 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
     
     @PostMapping
     @Operation(summary = "Create user", description = "Create a new user (requires authentication)")
@@ -55,25 +82,113 @@ public class UserController {
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         log.info("GET {}/{} - Fetching user", ApiConstants.USERS_BASE_PATH, id);
         UserResponse response = userService.getUserById(id);
-        return ResponseEntity.ok(response);
+        // Spring trả về 304 (không serialize body) khi If-None-Match khớp ETag
+        return ResponseEntity.ok().eTag(UserEtags.of(response)).body(response);
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search users", description = "Case-insensitive search on name and email (match=prefix|contains), "
+            + "ranked: exact email, email prefix, name prefix, then other matches (requires authentication)")
+    public ResponseEntity<PageResponse<UserResponse>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "contains") String match,
+            @RequestParam(defaultValue = "" + DomainConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = "" + DomainConstants.DEFAULT_PAGE_SIZE) int limit) {
+        log.info("GET {} - Searching users", ApiConstants.USERS_SEARCH);
+        
+        int pageSize = Math.max(1, Math.min(limit, DomainConstants.MAX_PAGE_SIZE));
+        PageResponse<UserResponse> response = userService.searchUsers(
+                q, UserSearchMatch.fromParam(match), Math.max(page, DomainConstants.DEFAULT_PAGE_NUMBER), pageSize);
+        return ResponseEntity.ok().eTag(UserEtags.of(response)).body(response);
+    }
+    
+    @GetMapping("/batch")
+    @Operation(summary = "Get users by IDs", description = "Resolve up to " + DomainConstants.MAX_BATCH_LOOKUP_SIZE
+            + " users in one query; unknown IDs are omitted, order follows the request (requires authentication)")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@RequestParam List<Long> ids) {
+        log.info("GET {} - Fetching {} users", ApiConstants.USERS_BATCH, ids.size());
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
     }
     
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieve all users (requires authentication)")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        log.info("GET {} - Fetching all users", ApiConstants.USERS_BASE_PATH);
-        List<UserResponse> responses = userService.getAllUsers();
-        return ResponseEntity.ok(responses);
+    @Operation(summary = "Get users", description = "Retrieve a page of users sorted by id or createdAt. "
+            + "Pass nextCursor as cursor to get the next page; page switches to offset paging (requires authentication)")
+    public ResponseEntity<PageResponse<UserResponse>> getAllUsers(
+            @RequestParam(defaultValue = "" + DomainConstants.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) Integer page) {
+        log.info("GET {} - Fetching users page", ApiConstants.USERS_BASE_PATH);
+        
+        // Page size luôn nằm trong [1, MAX_PAGE_SIZE]
+        int pageSize = Math.max(1, Math.min(limit, DomainConstants.MAX_PAGE_SIZE));
+        UserSortField sortField = UserSortField.fromParam(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        
+        PageResponse<UserResponse> response = page != null
+                ? userService.getUsersPage(sortField, sortDirection, Math.max(page, DomainConstants.DEFAULT_PAGE_NUMBER), pageSize)
+                : userService.getUsers(sortField, sortDirection, pageSize, cursor);
+        return ResponseEntity.ok().eTag(UserEtags.of(response)).body(response);
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export users", description = "Stream all users as NDJSON or CSV (requires authentication)")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        log.info("GET {} - Exporting users", ApiConstants.USERS_EXPORT);
+        UserExportFormat exportFormat = UserExportFormat.fromParam(format);
+        
+        // Body được ghi trên async thread, từng row một - không buffer toàn bộ response
+        StreamingResponseBody body = output -> userExportService.export(exportFormat, output);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import users (JSON)", description = "Bulk import a JSON array of users; "
+            + "invalid or duplicate rows are reported without aborting the import (requires authentication)")
+    public ResponseEntity<ImportResult> importUsersJson(InputStream body) throws IOException {
+        log.info("POST {} - Importing users from JSON", ApiConstants.USERS_IMPORT);
+        // Đọc trực tiếp từ request stream - payload không bị buffer toàn bộ
+        return ResponseEntity.ok(userImportService.importJson(body));
+    }
+    
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import users (CSV)", description = "Bulk import users from CSV with a name,email[,bio] header; "
+            + "invalid or duplicate rows are reported without aborting the import (requires authentication)")
+    public ResponseEntity<ImportResult> importUsersCsv(InputStream body) throws IOException {
+        log.info("POST {} - Importing users from CSV", ApiConstants.USERS_IMPORT);
+        return ResponseEntity.ok(userImportService.importCsv(body));
     }
     
     @PutMapping("/{id}")
-    @Operation(summary = "Update user", description = "Update an existing user (requires authentication)")
+    @Operation(summary = "Update user", description = "Update an existing user; send the ETag from GET as If-Match "
+            + "to get 412 instead of overwriting a concurrent change (requires authentication)")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserRequest request) {
         log.info("PUT {}/{} - Updating user", ApiConstants.USERS_BASE_PATH, id);
-        UserResponse response = userService.updateUser(id, request);
-        return ResponseEntity.ok(response);
+        UserResponse response = userService.updateUser(id, request, UserEtags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(UserEtags.of(response)).body(response);
+    }
+    
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, ApiConstants.MERGE_PATCH_JSON})
+    @Operation(summary = "Patch user", description = "Update only the fields present in the body (\"bio\": null clears the bio); "
+            + "supports If-Match like PUT (requires authentication)")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserPatchRequest request) {
+        log.info("PATCH {}/{} - Patching user", ApiConstants.USERS_BASE_PATH, id);
+        UserResponse response = userService.patchUser(id, request, UserEtags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(UserEtags.of(response)).body(response);
     }
     
     @DeleteMapping("/{id}")
@@ -83,5 +198,13 @@ public class UserController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+    
+    @DeleteMapping
+    @Operation(summary = "Delete users by IDs", description = "Delete up to " + DomainConstants.MAX_BULK_DELETE_SIZE
+            + " users in one statement; unknown IDs are ignored and the deleted count is returned (requires authentication)")
+    public ResponseEntity<BulkDeleteResult> deleteUsers(@RequestParam List<Long> ids) {
+        log.info("DELETE {} - Deleting {} users", ApiConstants.USERS_BASE_PATH, ids.size());
+        return ResponseEntity.ok(userService.deleteUsers(ids));
+    }
 }
 
@@ -0,0 +1,64 @@
+package com.example.backend.infrastructure.controller;
+
+import com.example.backend.application.dto.PageResponse;
+import com.example.backend.application.dto.UserResponse;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * UserEtags - Strong ETags cho user resources
+ * 
+ * - Một user: version của entity (tăng mỗi lần update) - không cần serialize body để so sánh
+ * - Một page: hash của (id, version) các items và vị trí page/cursor
+ */
+final class UserEtags {
+    
+    private static final String ANY = "*";
+    
+    // Private constructor để prevent instantiation
+    private UserEtags() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    static String of(UserResponse user) {
+        return quote(String.valueOf(user.getVersion()));
+    }
+    
+    static String of(PageResponse<UserResponse> page) {
+        StringBuilder version = new StringBuilder();
+        page.getItems().forEach(user -> version.append(user.getId()).append(':').append(user.getVersion()).append(','));
+        version.append(page.isHasNext()).append('|').append(page.getNextCursor()).append('|').append(page.getPage());
+        return quote(DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * Parse If-Match thành các versions được chấp nhận
+     * 
+     * @return null khi không có precondition (header trống hoặc "*"); weak hoặc ETag không hợp lệ bị bỏ qua
+     *         (strong comparison), nên có thể trả về set rỗng - không version nào khớp
+     */
+    static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // ETag không do server này tạo - không khớp
+                }
+            }
+        }
+        return versions;
+    }
+    
+    private static String quote(String value) {
+        return '"' + value + '"';
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.infrastructure.exception;
+
+import lombok.Getter;
+
+/**
+ * ServiceOverloadedException - Throw khi một resource có giới hạn (thread pool, queue) đã đầy
+ * 
+ * GlobalExceptionHandler map exception này thành 503 kèm Retry-After header
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
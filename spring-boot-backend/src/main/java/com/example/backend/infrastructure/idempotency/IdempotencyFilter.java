@@ -0,0 +1,368 @@
+package com.example.backend.infrastructure.idempotency;
+
+import com.example.backend.constants.ApiConstants;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.infrastructure.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * IdempotencyFilter - Idempotency-Key cho POST endpoints (create user, register)
+ *
+ * - Response đầu tiên (status < 500, trừ 429) được lưu trong IdempotencyStore và replay cho
+ *   request trùng key trong TTL (header Idempotent-Replayed: true) - không chạy lại controller
+ * - Request trùng key đang xử lý trên cùng instance chờ kết quả của request đầu tiên (in-flight map);
+ *   trên instance khác thì poll store (JdbcIdempotencyStore) - quá lock-timeout trả về 409
+ * - Cùng key với request body khác trả về 422
+ * - Key được scope theo method + path + user đã authenticate (anonymous cho register)
+ * - Response thành công của credential paths (register: access + refresh token) không được lưu:
+ *   store chỉ giữ một 409 để request trùng key không tạo user lần nữa, client login để lấy tokens
+ * - Body lớn hơn max-body-size bị từ chối (413) trước khi được đọc vào memory
+ *
+ * Response không được lưu (5xx, exception) thì key được release để client retry bình thường.
+ * Chạy sau Spring Security filter chain (cần authentication để scope key).
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final String ANONYMOUS = "anonymous";
+    private static final long REMOTE_POLL_INTERVAL_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectWriter errorWriter;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final long maxBodySize;
+    private final Set<String> credentialPaths;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxBodySize     request body lớn nhất được đọc để hash (bytes)
+     * @param credentialPaths paths có response chứa credentials - không được lưu để replay
+     */
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, Duration ttl, Duration lockTimeout,
+                             long maxBodySize, Set<String> credentialPaths) {
+        this.store = store;
+        this.errorWriter = objectMapper.writerFor(ErrorResponse.class);
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.maxBodySize = maxBodySize;
+        this.credentialPaths = Set.copyOf(credentialPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(ApiConstants.IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(ApiConstants.IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > ApiConstants.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, ApplicationConstants.ERROR_INVALID_IDEMPOTENCY_KEY);
+            return;
+        }
+
+        // Đọc body một lần: hash để phát hiện key bị dùng lại với payload khác, controller đọc lại từ bản copy
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, ApplicationConstants.ERROR_REQUEST_BODY_TOO_LARGE);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(Math.toIntExact(maxBodySize) + 1);
+        if (body.length > maxBodySize) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, ApplicationConstants.ERROR_REQUEST_BODY_TOO_LARGE);
+            return;
+        }
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        String requestHash = sha256(body);
+        String scopedKey = sha256((request.getMethod() + ' ' + request.getRequestURI() + ' ' + principalName()
+                + ' ' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+
+        try {
+            IdempotencyRecord record = executeOnce(scopedKey, requestHash, cachedRequest, response, filterChain);
+            if (record == null) {
+                return;
+            }
+            if (!record.requestHash().equals(requestHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, ApplicationConstants.ERROR_IDEMPOTENCY_KEY_REUSED);
+                return;
+            }
+            replay(record, response);
+        } catch (TimeoutException e) {
+            log.warn("Idempotency key still in progress after {}", lockTimeout);
+            writeError(response, HttpStatus.CONFLICT, ApplicationConstants.ERROR_IDEMPOTENCY_KEY_IN_PROGRESS);
+        }
+    }
+
+    /**
+     * Chạy request nếu claim được key, ngược lại chờ response của request đầu tiên
+     *
+     * @return record để replay; null nếu request này đã được xử lý (response đã được ghi)
+     */
+    private IdempotencyRecord executeOnce(
+            String scopedKey,
+            String requestHash,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException, TimeoutException {
+        long deadline = System.nanoTime() + lockTimeout.toNanos();
+        while (true) {
+            CompletableFuture<IdempotencyRecord> claim = new CompletableFuture<>();
+            CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(scopedKey, claim);
+            if (running != null) {
+                IdempotencyRecord record = await(running, deadline);
+                if (record != null) {
+                    return record;
+                }
+                // Request đầu tiên không lưu được response (5xx, exception) - xử lý lại
+                continue;
+            }
+
+            IdempotencyRecord result = null;
+            try {
+                Optional<IdempotencyRecord> existing = store.claim(scopedKey, requestHash, lockTimeout);
+                if (existing.isPresent()) {
+                    result = existing.get().isCompleted() ? existing.get() : awaitRemote(scopedKey, deadline);
+                    if (result != null) {
+                        return result;
+                    }
+                    continue;
+                }
+                result = execute(scopedKey, requestHash, request, response, filterChain);
+                return null;
+            } finally {
+                inFlight.remove(scopedKey, claim);
+                claim.complete(result);
+            }
+        }
+    }
+
+    private IdempotencyRecord execute(
+            String scopedKey,
+            String requestHash,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        IdempotencyRecord record = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (status < HttpStatus.INTERNAL_SERVER_ERROR.value() && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                record = HttpStatus.valueOf(status).is2xxSuccessful() && credentialPaths.contains(request.getRequestURI())
+                        ? credentialsNotReplayed(requestHash)
+                        : new IdempotencyRecord(requestHash, status, responseWrapper.getContentType(),
+                                responseWrapper.getContentAsByteArray());
+                store.complete(scopedKey, record, ttl);
+            }
+        } catch (RuntimeException e) {
+            if (record == null) {
+                throw e;
+            }
+            // Response đã có nhưng không lưu được - vẫn trả về cho client, key được release bên dưới
+            log.warn("Failed to store idempotent response: {}", e.getMessage());
+            record = null;
+        } finally {
+            if (record == null) {
+                release(scopedKey);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+        return record;
+    }
+
+    /**
+     * Record thay cho response chứa tokens - tokens không nằm trong memory hay bảng idempotency_keys
+     */
+    private IdempotencyRecord credentialsNotReplayed(String requestHash) throws IOException {
+        HttpStatus status = HttpStatus.CONFLICT;
+        byte[] body = errorWriter.writeValueAsBytes(errorResponse(status, ApplicationConstants.ERROR_IDEMPOTENT_CREDENTIALS_NOT_REPLAYED));
+        return new IdempotencyRecord(requestHash, status.value(), MediaType.APPLICATION_JSON_VALUE, body);
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running, long deadline)
+            throws TimeoutException {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for idempotent response");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Chờ request đang xử lý trên instance khác
+     *
+     * @return record đã completed; null nếu key đã được release (client được xử lý lại)
+     */
+    private IdempotencyRecord awaitRemote(String scopedKey, long deadline) throws TimeoutException {
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(REMOTE_POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<IdempotencyRecord> record = store.find(scopedKey);
+            if (record.isEmpty()) {
+                return null;
+            }
+            if (record.get().isCompleted()) {
+                return record.get();
+            }
+        }
+        throw new TimeoutException("Idempotent request still in progress");
+    }
+
+    private void release(String scopedKey) {
+        try {
+            store.release(scopedKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key, it is retried after the lock timeout: {}", e.getMessage());
+        }
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.status());
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        response.setHeader(ApiConstants.IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString());
+        response.setContentLength(record.body().length);
+        response.getOutputStream().write(record.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        errorWriter.writeValue(response.getOutputStream(), errorResponse(status, message));
+    }
+
+    private static ErrorResponse errorResponse(HttpStatus status, String message) {
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+    }
+
+    private static String principalName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return authentication.getName();
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request với body đã đọc sẵn - controller đọc lại được
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Body đã nằm trong memory - đọc được ngay và hết ngay
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.infrastructure.idempotency;
+
+/**
+ * IdempotencyRecord - Trạng thái của một Idempotency-Key
+ *
+ * @param requestHash SHA-256 của request body - cùng key với body khác bị từ chối
+ * @param status      HTTP status của response đầu tiên; null = request đầu tiên đang được xử lý
+ * @param contentType content type của response
+ * @param body        response body được replay cho các request trùng key
+ */
+public record IdempotencyRecord(String requestHash, Integer status, String contentType, byte[] body) {
+
+    public static IdempotencyRecord inFlight(String requestHash) {
+        return new IdempotencyRecord(requestHash, null, null, null);
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
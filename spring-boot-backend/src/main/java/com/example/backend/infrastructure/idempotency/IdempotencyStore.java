@@ -0,0 +1,40 @@
+package com.example.backend.infrastructure.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * IdempotencyStore - Lưu response đầu tiên theo Idempotency-Key để replay
+ *
+ * Implementations:
+ * - LocalIdempotencyStore: Caffeine (bounded, một instance)
+ * - JdbcIdempotencyStore: bảng idempotency_keys (dùng chung giữa các instances)
+ *
+ * Key truyền vào đã được scope theo endpoint và user (IdempotencyFilter).
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Giữ key cho request hiện tại
+     *
+     * @param lockTimeout thời gian tối đa request được giữ key trước khi instance khác được claim lại
+     * @return empty nếu claim thành công (caller xử lý request); ngược lại record đã có -
+     *         completed, hoặc đang được xử lý ở instance khác
+     */
+    Optional<IdempotencyRecord> claim(String key, String requestHash, Duration lockTimeout);
+
+    /**
+     * Record hiện tại của key (chưa hết hạn)
+     */
+    Optional<IdempotencyRecord> find(String key);
+
+    /**
+     * Lưu response của request đã claim key, giữ trong ttl
+     */
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Bỏ claim (request lỗi, response không được lưu) để request retry được xử lý lại
+     */
+    void release(String key);
+}
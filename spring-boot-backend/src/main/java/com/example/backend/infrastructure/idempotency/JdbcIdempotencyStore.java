@@ -0,0 +1,119 @@
+package com.example.backend.infrastructure.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * JdbcIdempotencyStore - Store dùng chung giữa các instances (bảng idempotency_keys)
+ *
+ * - claim: INSERT row pending (status NULL); PRIMARY KEY quyết định instance nào xử lý request
+ * - Row pending có expires_at = lock timeout: instance xử lý bị kill thì key được claim lại sau timeout
+ * - complete: UPDATE response + expires_at = TTL; release: DELETE row
+ *
+ * Chạy ngoài transaction (mỗi statement auto-commit) để claim visible ngay cho instances khác.
+ * Body được lưu dạng text (UTF-8) - chỉ dùng cho JSON endpoints.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, request_hash, expires_at) VALUES (?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT request_hash, status, content_type, body FROM idempotency_keys "
+                    + "WHERE idempotency_key = ? AND expires_at > ?";
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET status = ?, content_type = ?, body = ?, expires_at = ? "
+                    + "WHERE idempotency_key = ?";
+    private static final String DELETE_SQL = "DELETE FROM idempotency_keys WHERE idempotency_key = ?";
+    private static final String DELETE_EXPIRED_KEY_SQL =
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_keys WHERE expires_at <= ?";
+
+    private static final RowMapper<IdempotencyRecord> ROW_MAPPER = (rs, rowNum) -> {
+        int status = rs.getInt("status");
+        if (rs.wasNull()) {
+            return IdempotencyRecord.inFlight(rs.getString("request_hash"));
+        }
+        String body = rs.getString("body");
+        return new IdempotencyRecord(
+                rs.getString("request_hash"),
+                status,
+                rs.getString("content_type"),
+                body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String requestHash, Duration lockTimeout) {
+        if (tryInsert(key, requestHash, lockTimeout)) {
+            return Optional.empty();
+        }
+        Optional<IdempotencyRecord> existing = find(key);
+        if (existing.isPresent()) {
+            return existing;
+        }
+        // Row đã hết hạn (cleanup job chưa chạy) - xóa và claim lại một lần
+        jdbcTemplate.update(DELETE_EXPIRED_KEY_SQL, key, now());
+        return tryInsert(key, requestHash, lockTimeout) ? Optional.empty() : find(key);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, key, now()).stream().findFirst();
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        jdbcTemplate.update(COMPLETE_SQL,
+                record.status(),
+                record.contentType(),
+                new String(record.body(), StandardCharsets.UTF_8),
+                expiresAt(ttl),
+                key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update(DELETE_SQL, key);
+    }
+
+    /**
+     * Xóa keys đã hết hạn định kỳ - find/claim đã bỏ qua rows hết hạn nên chỉ để giới hạn kích thước bảng
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:3600000}")
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private boolean tryInsert(String key, String requestHash, Duration lockTimeout) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, key, requestHash, expiresAt(lockTimeout));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static Timestamp expiresAt(Duration duration) {
+        return Timestamp.valueOf(LocalDateTime.now().plus(duration));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * LocalIdempotencyStore - Bounded in-memory store (TTL + max entries)
+ *
+ * Chỉ lưu responses đã completed: request trùng key đang xử lý trên cùng instance được
+ * IdempotencyFilter gộp lại (in-flight map), nên không cần claim record.
+ * Không dùng được khi nhiều instances nhận cùng key (dùng JdbcIdempotencyStore).
+ */
+public class LocalIdempotencyStore implements IdempotencyStore, MeterBinder {
+
+    private static final String CACHE_NAME = "idempotencyResponses";
+
+    private final Cache<String, IdempotencyRecord> responses;
+
+    public LocalIdempotencyStore(Duration ttl, long maxEntries) {
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String requestHash, Duration lockTimeout) {
+        return find(key);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(responses.getIfPresent(key));
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        responses.put(key, record);
+    }
+
+    @Override
+    public void release(String key) {
+        responses.invalidate(key);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, CACHE_NAME);
+    }
+}
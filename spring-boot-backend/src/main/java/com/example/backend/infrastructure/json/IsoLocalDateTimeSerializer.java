@@ -0,0 +1,91 @@
+package com.example.backend.infrastructure.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * IsoLocalDateTimeSerializer - LocalDateTime -> ISO-8601 không qua DateTimeFormatter
+ *
+ * Output giống hệt LocalDateTimeSerializer mặc định (DateTimeFormatter.ISO_LOCAL_DATE_TIME):
+ * seconds luôn có, phần fraction bỏ các số 0 ở cuối và không có khi nano = 0.
+ * Digits được ghi thẳng vào char[] thay vì DateTimeFormatter.format (StringBuilder, print context
+ * và String trung gian cho mỗi giá trị) - đáng kể với list responses có 2 timestamps mỗi item.
+ *
+ * Năm ngoài 0000-9999, WRITE_DATES_AS_TIMESTAMPS hoặc @JsonFormat thì dùng LocalDateTimeSerializer.
+ */
+public class IsoLocalDateTimeSerializer extends StdScalarSerializer<LocalDateTime> implements ContextualSerializer {
+
+    public static final IsoLocalDateTimeSerializer INSTANCE = new IsoLocalDateTimeSerializer();
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int MAX_LENGTH = 29;
+    private static final int MAX_FAST_PATH_YEAR = 9999;
+
+    public IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > MAX_FAST_PATH_YEAR || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            LocalDateTimeSerializer.INSTANCE.serialize(value, generator, provider);
+            return;
+        }
+        char[] buffer = new char[MAX_LENGTH];
+        int length = writeDigits(buffer, 0, year, 4);
+        buffer[length++] = '-';
+        length = writeDigits(buffer, length, value.getMonthValue(), 2);
+        buffer[length++] = '-';
+        length = writeDigits(buffer, length, value.getDayOfMonth(), 2);
+        buffer[length++] = 'T';
+        length = writeDigits(buffer, length, value.getHour(), 2);
+        buffer[length++] = ':';
+        length = writeDigits(buffer, length, value.getMinute(), 2);
+        buffer[length++] = ':';
+        length = writeDigits(buffer, length, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano > 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[length++] = '.';
+            length = writeDigits(buffer, length, nano, digits);
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        if (format != null && (format.hasPattern() || format.hasShape() || format.hasLocale())) {
+            return LocalDateTimeSerializer.INSTANCE.createContextual(provider, property);
+        }
+        return this;
+    }
+
+    /**
+     * Ghi value với đúng width digits (pad 0 bên trái)
+     */
+    private static int writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+}
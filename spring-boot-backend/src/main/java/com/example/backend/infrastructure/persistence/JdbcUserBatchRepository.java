@@ -0,0 +1,101 @@
+package com.example.backend.infrastructure.persistence;
+
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.UserBatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JdbcUserBatchRepository - JDBC implementation của UserBatchRepository (Infrastructure Layer)
+ * 
+ * JdbcTemplate dùng chung connection/transaction với JPA (JpaTransactionManager),
+ * nên batch insert tham gia transaction của caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcUserBatchRepository implements UserBatchRepository {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, name, email, bio, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_ROLE_SQL = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+    
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+    
+    private static final String EXISTING_EMAILS_SQL = "SELECT email FROM users WHERE email IN (:emails)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TimeOrderedIdGenerator idGenerator;
+    
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                EXISTING_EMAILS_SQL, new MapSqlParameterSource("emails", emails), String.class));
+    }
+    
+    @Override
+    public int batchInsert(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // ID gán trước khi insert, cùng generator với JPA (@TimeOrderedId)
+        users.forEach(user -> user.setId(idGenerator.nextId()));
+        int[] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (ps, user) -> {
+            ps.setLong(1, user.getId());
+            ps.setString(2, user.getName());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getBio());
+            ps.setString(5, user.getPassword());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        })[0];
+        insertRoles(users);
+        // Driver có thể trả về SUCCESS_NO_INFO (-2) khi rewrite batch - tính là một row
+        return Arrays.stream(updateCounts).map(count -> count < 0 ? 1 : count).sum();
+    }
+    
+    @Override
+    public int batchUpdateLastLogin(Map<Long, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Long, LocalDateTime>> entries = List.copyOf(lastLogins.entrySet());
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, entries, entries.size(), (ps, entry) -> {
+            Timestamp lastLoginAt = Timestamp.valueOf(entry.getValue());
+            ps.setTimestamp(1, lastLoginAt);
+            ps.setLong(2, entry.getKey());
+            ps.setTimestamp(3, lastLoginAt);
+        })[0];
+        return Arrays.stream(updateCounts).map(count -> count < 0 ? 1 : count).sum();
+    }
+    
+    /**
+     * Roles của tất cả users trong một JDBC batch thứ hai
+     */
+    private void insertRoles(List<User> users) {
+        List<Object[]> roleRows = users.stream()
+                .flatMap(user -> user.getRoles().stream().map(role -> new Object[]{user.getId(), role.name()}))
+                .toList();
+        if (!roleRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLE_SQL, roleRows);
+        }
+    }
+}
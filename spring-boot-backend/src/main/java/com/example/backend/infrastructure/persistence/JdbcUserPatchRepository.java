@@ -0,0 +1,116 @@
+package com.example.backend.infrastructure.persistence;
+
+import com.example.backend.application.dto.UserPatchRequest;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.repository.UserPatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * JdbcUserPatchRepository - JDBC implementation của UserPatchRepository (Infrastructure Layer)
+ *
+ * SET clause chỉ chứa các fields được gửi (dynamic update), version và updated_at được tăng
+ * trong cùng statement; kiểm tra If-Match nằm trong WHERE. State mới được đọc từ chính statement:
+ * - PostgreSQL: UPDATE ... RETURNING
+ * - H2: SELECT ... FROM FINAL TABLE (UPDATE ...)
+ * - Database khác: UPDATE rồi SELECT theo id (hai statements)
+ *
+ * Chạy trong transaction của caller (JdbcTemplate dùng chung connection với JPA).
+ */
+@Repository
+@Slf4j
+public class JdbcUserPatchRepository implements UserPatchRepository {
+    
+    private static final String RETURNED_COLUMNS = "id, name, email, bio, created_at, updated_at, version";
+    
+    private static final String SELECT_BY_ID_SQL = "SELECT " + RETURNED_COLUMNS + " FROM users WHERE id = :id";
+    
+    private static final RowMapper<UserResponse> USER_RESPONSE_ROW_MAPPER = (rs, rowNum) -> new UserResponse(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getString("bio"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getLong("version"));
+    
+    private enum ReturningStyle { RETURNING, FINAL_TABLE, NONE }
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReturningStyle returningStyle;
+    
+    public JdbcUserPatchRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.returningStyle = detectReturningStyle(dataSource);
+    }
+    
+    @Override
+    public Optional<UserResponse> patch(Long id, UserPatchRequest patch, Set<Long> expectedVersions) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id)
+                .addValue("updatedAt", Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+        List<String> assignments = new ArrayList<>();
+        if (patch.getName() != null) {
+            assignments.add("name = :name");
+            params.addValue("name", patch.getName());
+        }
+        if (patch.getEmail() != null) {
+            assignments.add("email = :email");
+            params.addValue("email", patch.getEmail());
+        }
+        if (patch.isBioPresent()) {
+            assignments.add("bio = :bio");
+            params.addValue("bio", patch.getBio());
+        }
+        assignments.add("updated_at = :updatedAt");
+        assignments.add("version = version + 1");
+        
+        String update = "UPDATE users SET " + String.join(", ", assignments) + " WHERE id = :id";
+        if (expectedVersions != null) {
+            if (expectedVersions.isEmpty()) {
+                return Optional.empty();
+            }
+            update += " AND version IN (:versions)";
+            params.addValue("versions", expectedVersions);
+        }
+        
+        List<UserResponse> rows = switch (returningStyle) {
+            case RETURNING -> jdbcTemplate.query(update + " RETURNING " + RETURNED_COLUMNS, params, USER_RESPONSE_ROW_MAPPER);
+            case FINAL_TABLE -> jdbcTemplate.query(
+                    "SELECT " + RETURNED_COLUMNS + " FROM FINAL TABLE (" + update + ")", params, USER_RESPONSE_ROW_MAPPER);
+            case NONE -> jdbcTemplate.update(update, params) == 0
+                    ? List.of()
+                    : jdbcTemplate.query(SELECT_BY_ID_SQL, params, USER_RESPONSE_ROW_MAPPER);
+        };
+        return rows.stream().findFirst();
+    }
+    
+    private static ReturningStyle detectReturningStyle(DataSource dataSource) {
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database product, PATCH falls back to UPDATE + SELECT: {}", e.getMessage());
+            return ReturningStyle.NONE;
+        }
+        return switch (String.valueOf(JdbcUtils.commonDatabaseName(product))) {
+            case "PostgreSQL" -> ReturningStyle.RETURNING;
+            case "H2" -> ReturningStyle.FINAL_TABLE;
+            default -> ReturningStyle.NONE;
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.backend.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ReplicaRoutingDataSource - Route read-only transactions tới replicas, còn lại tới primary
+ *
+ * - Transaction readOnly: round-robin qua các replicas đang healthy
+ * - Replica lỗi khi lấy connection bị bỏ qua trong failure-backoff, rồi được thử lại (request kế tiếp);
+ *   không còn replica nào dùng được thì đọc từ primary
+ * - Read-your-writes: sau khi transaction ghi của một user commit, các transaction readOnly của user đó
+ *   đọc từ primary trong sticky-window (che replication lag)
+ * - Không có transaction (Flyway, connection check, ...) luôn dùng primary
+ * - readFromPrimary: code cần dữ liệu đã commit mới nhất bất kể user nào (ví dụ load vào shared cache)
+ *   ép mọi read trên thread hiện tại về primary
+ *
+ * Routing dựa vào trạng thái transaction lúc lấy connection, nên phải được bọc bởi
+ * LazyConnectionDataSourceProxy (connection thật chỉ được lấy ở statement đầu tiên,
+ * sau khi transaction manager đã đánh dấu readOnly). Replicas thuộc sở hữu của data source này
+ * và được close cùng nó; primary thì không.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long failureBackoffNanos;
+    private final Supplier<String> currentUser;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param currentUser key của user hiện tại cho read-your-writes, null nếu anonymous
+     * @param stickyWindow 0 = tắt read-your-writes
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration failureBackoff,
+                                    Duration stickyWindow, Supplier<String> currentUser) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.failureBackoffNanos = failureBackoff.toNanos();
+        this.currentUser = currentUser;
+        this.recentWriters = stickyWindow.isZero() || stickyWindow.isNegative()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(stickyWindow).maximumSize(100_000).build();
+    }
+
+    /**
+     * Chạy action với mọi read-only transaction trên thread hiện tại đọc từ primary
+     *
+     * Chỉ có tác dụng với connection được lấy bên trong action - caller không được giữ sẵn transaction.
+     */
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterAfterCommit();
+            return opener.open(primary);
+        }
+        if (replicas.isEmpty() || PRIMARY_READS.get() != null || isRecentWriter()) {
+            return opener.open(primary);
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replica.markUp();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        log.debug("No healthy read replica available, reading from primary");
+        return opener.open(primary);
+    }
+
+    /**
+     * Ghi nhận user hiện tại là writer khi transaction ghi commit (rollback thì không cần sticky)
+     */
+    private void rememberWriterAfterCommit() {
+        if (recentWriters == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser.get();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private boolean isRecentWriter() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String user = currentUser.get();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Health state của một replica - passive: chỉ đổi khi lấy connection thành công/thất bại
+     */
+    private final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean down;
+        private volatile long downSince;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable() {
+            return !down || System.nanoTime() - downSince >= failureBackoffNanos;
+        }
+
+        private void markDown(SQLException cause) {
+            if (!down) {
+                log.warn("Read replica {} unavailable, routing reads elsewhere for {} ms: {}",
+                        replicas.indexOf(this), failureBackoffNanos / 1_000_000, cause.getMessage());
+            }
+            downSince = System.nanoTime();
+            down = true;
+        }
+
+        private void markUp() {
+            if (down) {
+                down = false;
+                log.info("Read replica {} is available again", replicas.indexOf(this));
+            }
+        }
+    }
+}
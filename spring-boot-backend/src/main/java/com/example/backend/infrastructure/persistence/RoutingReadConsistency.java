@@ -0,0 +1,20 @@
+package com.example.backend.infrastructure.persistence;
+
+import com.example.backend.application.repository.ReadConsistency;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * RoutingReadConsistency - ReadConsistency dựa trên ReplicaRoutingDataSource (Infrastructure Layer)
+ * 
+ * Không cấu hình replicas thì mọi read đã đi tới primary, override không có tác dụng gì thêm.
+ */
+@Component
+public class RoutingReadConsistency implements ReadConsistency {
+    
+    @Override
+    public <T> T readFromPrimary(Supplier<T> action) {
+        return ReplicaRoutingDataSource.readFromPrimary(action);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.backend.infrastructure.persistence;
+
+import com.example.backend.domain.model.id.IdGenerator;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TimeOrderedIdGenerator - Snowflake-style 64-bit ID, sinh ở application (không cần round trip tới database)
+ * 
+ * Layout (53 bits, luôn <= Number.MAX_SAFE_INTEGER nên JSON clients dùng JavaScript không mất precision):
+ * - 41 bits: milliseconds kể từ EPOCH (2024-01-01T00:00:00Z) - đủ tới năm 2093
+ * - 5 bits: node ID (0-31), mỗi instance phải có node ID riêng
+ * - 7 bits: sequence trong cùng millisecond (128 IDs/ms mỗi node)
+ * 
+ * Lock-free: state (timestamp, sequence) được cập nhật bằng CAS. Khi hết sequence trong một millisecond
+ * hoặc clock chạy lùi, generator tiếp tục từ millisecond logic kế tiếp thay vì chờ - ID luôn tăng dần.
+ * 
+ * Millisecond logic chỉ được chạy trước wall clock tối đa MAX_CLOCK_AHEAD_MILLIS: quá giới hạn thì
+ * nextId chờ clock đuổi kịp (burst dài bị giới hạn ở 128 IDs/ms). Nhờ vậy một process restart
+ * (lâu hơn nhiều so với giới hạn) không thể sinh lại ID đã cấp trước restart. Clock lùi quá
+ * MAX_CLOCK_ROLLBACK_MILLIS thì fail thay vì block.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator, MeterBinder {
+    
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    
+    static final int TIMESTAMP_BITS = 41;
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    
+    static final long MAX_CLOCK_AHEAD_MILLIS = 100;
+    static final long MAX_CLOCK_ROLLBACK_MILLIS = 5_000;
+    private static final long THROTTLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final long nodeId;
+    private final Clock clock;
+    private final long epochMillis = EPOCH.toEpochMilli();
+    
+    // (timestamp << SEQUENCE_BITS) | sequence của ID cuối cùng
+    private final AtomicLong lastState = new AtomicLong();
+    
+    // Số lần nextId phải chờ vì millisecond logic chạy trước wall clock quá giới hạn
+    private final LongAdder throttled = new LongAdder();
+    
+    public TimeOrderedIdGenerator(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+    
+    TimeOrderedIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ID generator node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+    
+    @Override
+    public long nextId() {
+        while (true) {
+            long now = currentMillis();
+            long last = lastState.get();
+            long state = Math.max(now << SEQUENCE_BITS, last + 1);
+            long ahead = (state >>> SEQUENCE_BITS) - now;
+            if (ahead > MAX_CLOCK_ROLLBACK_MILLIS) {
+                throw new IllegalStateException("Clock moved backwards: last ID is " + ahead + " ms ahead of the clock");
+            }
+            if (ahead > MAX_CLOCK_AHEAD_MILLIS) {
+                throttled.increment();
+                LockSupport.parkNanos(THROTTLE_PARK_NANOS);
+                continue;
+            }
+            if (lastState.compareAndSet(last, state)) {
+                return toId(state);
+            }
+        }
+    }
+    
+    /**
+     * Millisecond logic của ID cuối cùng đang chạy trước wall clock bao nhiêu (0 nếu không)
+     */
+    public long clockAheadMillis() {
+        return Math.max(0, (lastState.get() >>> SEQUENCE_BITS) - currentMillis());
+    }
+    
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("id.generator.clock.ahead", this, TimeOrderedIdGenerator::clockAheadMillis)
+                .description("Milliseconds the last time-ordered ID is ahead of the wall clock")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("id.generator.throttled", throttled, LongAdder::sum)
+                .description("ID requests that waited for the wall clock to catch up")
+                .register(registry);
+    }
+    
+    private long currentMillis() {
+        long now = clock.millis() - epochMillis;
+        if (now < 0) {
+            throw new IllegalStateException("Clock is before the ID generator epoch " + EPOCH);
+        }
+        return now;
+    }
+    
+    private long toId(long state) {
+        long timestamp = state >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("ID generator timestamp overflow");
+        }
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+    }
+    
+    /**
+     * Thời điểm (theo millisecond logic) mà ID được sinh ra
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+}
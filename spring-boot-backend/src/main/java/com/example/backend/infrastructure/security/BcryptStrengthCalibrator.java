@@ -0,0 +1,66 @@
+package com.example.backend.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BcryptStrengthCalibrator - Chọn bcrypt cost factor theo thời gian hash mục tiêu
+ * 
+ * Benchmark một vài lần hash ở strength tối thiểu lúc startup, sau đó tăng strength
+ * (mỗi bậc tốn gấp đôi thời gian) cho đến khi chạm target hoặc strength tối đa.
+ * Nhờ vậy cost của login được tune theo CPU của từng node thay vì hard-code.
+ */
+@Slf4j
+public final class BcryptStrengthCalibrator {
+    
+    // BCrypt chấp nhận strength trong khoảng 4..31
+    public static final int BCRYPT_MIN_STRENGTH = 4;
+    public static final int BCRYPT_MAX_STRENGTH = 31;
+    
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+    
+    // Private constructor để prevent instantiation
+    private BcryptStrengthCalibrator() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    /**
+     * Tính strength lớn nhất trong [minStrength, maxStrength] mà thời gian hash không vượt target
+     * 
+     * Không bao giờ trả về strength thấp hơn minStrength, kể cả khi máy quá chậm.
+     */
+    public static int calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        int lower = Math.max(BCRYPT_MIN_STRENGTH, minStrength);
+        int upper = Math.min(BCRYPT_MAX_STRENGTH, Math.max(lower, maxStrength));
+        
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(lower);
+        probe.encode(SAMPLE_PASSWORD); // Warm-up (JIT) trước khi đo
+        
+        // Lấy lần nhanh nhất để giảm nhiễu do GC / scheduling lúc startup
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        
+        int strength = lower;
+        long estimatedNanos = fastestNanos;
+        while (strength < upper && estimatedNanos * 2 <= targetHashTime.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+        
+        log.info("Calibrated bcrypt strength {} (~{} ms per hash, target {} ms, measured {} ms at strength {})",
+                strength,
+                TimeUnit.NANOSECONDS.toMillis(estimatedNanos),
+                targetHashTime.toMillis(),
+                TimeUnit.NANOSECONDS.toMillis(fastestNanos),
+                lower);
+        return strength;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.backend.infrastructure.security;
+
+import com.example.backend.application.event.UserChangedEvent;
+import com.example.backend.application.repository.ReadConsistency;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CachedUserDetailsService - Caching decorator cho UserDetailsServiceImpl
+ *
+ * - Bounded local cache (TTL + max size) theo email
+ * - Evict ngay sau khi transaction update/delete user commit (UserChangedEvent)
+ * - Index user ID → email cho các entries đang cache: event chỉ có user IDs (delete, đổi email)
+ *   evict bằng lookup thay vì scan toàn bộ cache
+ * - Trả về bản copy để caller không sửa được principal trong cache
+ * - Load từ primary (ReadConsistency): replica bị lag sẽ đưa roles/password cũ trở lại cache ngay sau eviction
+ *
+ * Login không đi qua service này (AuthenticationService tự load user và verify password).
+ * Chỉ JwtAuthenticationFilter dùng cho access token cũ chưa có roles claim.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachedUserDetailsService implements UserDetailsService, MeterBinder {
+
+    private static final String CACHE_NAME = "userDetails";
+
+    private final UserDetailsServiceImpl delegate;
+    private final ReadConsistency readConsistency;
+    private final Cache<String, UserPrincipal> cache;
+    private final Map<Long, String> emailsById = new ConcurrentHashMap<>();
+
+    public CachedUserDetailsService(
+            UserDetailsServiceImpl delegate,
+            ReadConsistency readConsistency,
+            @Value("${security.user-cache.ttl:5m}") Duration ttl,
+            @Value("${security.user-cache.max-size:10000}") long maxSize) {
+        this.delegate = delegate;
+        this.readConsistency = readConsistency;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                // Sync listener: entry hết hạn/bị đẩy ra thì bỏ khỏi index luôn (index không lớn hơn cache)
+                .evictionListener((String email, UserPrincipal principal, RemovalCause cause) -> {
+                    if (principal != null && principal.getId() != null) {
+                        emailsById.remove(principal.getId(), email);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserPrincipal cached = cache.get(email, this::load);
+        return copyOf(cached);
+    }
+
+    /**
+     * Evict cache entries của các users sau khi thay đổi được commit
+     *
+     * Evict theo emails trong event và theo email đang cache của từng user ID (email cũ khi đổi email).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Set<String> emails = new HashSet<>(event.emails());
+        for (Long userId : event.userIds()) {
+            String cachedEmail = emailsById.remove(userId);
+            if (cachedEmail != null) {
+                emails.add(cachedEmail);
+            }
+        }
+        cache.invalidateAll(emails);
+        log.debug("Evicted cached user details for user IDs: {}", event.userIds());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private UserPrincipal load(String email) {
+        UserPrincipal principal = readConsistency.readFromPrimary(() -> delegate.loadUserByUsername(email));
+        if (principal.getId() != null) {
+            emailsById.put(principal.getId(), email);
+        }
+        return principal;
+    }
+    
+    private UserPrincipal copyOf(UserPrincipal principal) {
+        return new UserPrincipal(
+                principal.getId(),
+                principal.getUsername(),
+                principal.getPassword(),
+                principal.getAuthorities()
+        );
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.backend.infrastructure.security;
+
+import com.example.backend.application.security.AccessTokenService;
+import com.example.backend.domain.model.User;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * JwtAccessTokenService - AccessTokenService dựa trên JwtService và TokenRevocationList (Infrastructure Layer)
+ *
+ * Access token là JWT chứa roles và user ID; revoke theo jti đến khi token expire.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAccessTokenService implements AccessTokenService {
+
+    private final JwtService jwtService;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Override
+    public String issue(User user) {
+        return jwtService.generateToken(UserPrincipal.from(user));
+    }
+
+    @Override
+    public long getExpirationSeconds() {
+        return jwtService.getExpirationSeconds();
+    }
+
+    @Override
+    public void revoke(String accessToken) {
+        try {
+            tokenRevocationList.revoke(jwtService.parseToken(accessToken));
+        } catch (JwtException ex) {
+            log.debug("Ignoring invalid access token on logout: {}", ex.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.backend.infrastructure.security;
 
 import com.example.backend.constants.SecurityConstants;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +22,10 @@ import java.io.IOException;
  * JwtAuthenticationFilter - Filter để intercept requests và validate JWT tokens
  * 
  * Chạy trước mọi request để extract và validate JWT token từ Authorization header
+ *
+ * Token chỉ được parse và verify một lần. Roles được lấy từ signed claims nên
+ * không cần query database; UserDetailsService chỉ được dùng cho token cũ chưa có roles claim.
+ * Token đã bị revoke (logout) được check trong memory theo jti.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,6 +33,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
     
     @Override
     protected void doFilterInternal(
@@ -50,25 +56,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(SecurityConstants.BEARER_PREFIX_LENGTH);
         
         try {
-            // Extract username từ token
-            userEmail = jwtService.extractUsername(jwt);
+            // Parse và verify token một lần duy nhất (signature + expiration)
+            Claims claims = jwtService.parseToken(jwt);
+            userEmail = claims.getSubject();
             
-            // Nếu có username và chưa có authentication trong SecurityContext
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // Nếu có username, token chưa bị revoke (logout) và chưa có authentication trong SecurityContext
+            if (userEmail != null
+                    && !tokenRevocationList.isRevoked(claims)
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Stateless: build user details từ claims, fallback database cho token cũ
+                UserDetails userDetails = jwtService.hasAuthorities(claims)
+                        ? jwtService.toPrincipal(claims)
+                        : this.userDetailsService.loadUserByUsername(userEmail);
                 
-                // Validate token
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    // Tạo authentication token và set vào SecurityContext
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                // Tạo authentication token và set vào SecurityContext
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             // Log error nhưng không throw để không block request
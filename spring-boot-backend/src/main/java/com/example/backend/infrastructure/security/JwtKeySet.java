@@ -0,0 +1,151 @@
+package com.example.backend.infrastructure.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JwtKeySet - Signing key và verification keys cho JWT
+ *
+ * - Asymmetric (ES256 / EdDSA): token được ký bằng private key đang active, header có kid.
+ *   Tất cả public keys (kể cả key cũ đang rotate out) được dùng để verify và publish qua JWKS,
+ *   nên service khác có thể verify token locally.
+ * - HS256: giữ behavior cũ (shared secret), không có kid và không publish key nào.
+ */
+@Slf4j
+@Getter
+public final class JwtKeySet {
+
+    public static final String ALGORITHM_HS256 = "HS256";
+    public static final String ALGORITHM_ES256 = "ES256";
+    public static final String ALGORITHM_EDDSA = "EdDSA";
+
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, PublicKey> verificationKeys;
+    private final Map<String, Object> jwkSet;
+
+    private JwtKeySet(String activeKeyId, Key signingKey, Map<String, PublicKey> verificationKeys) {
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+        this.jwkSet = buildJwkSet(verificationKeys);
+    }
+
+    /**
+     * Shared-secret mode (HS256)
+     */
+    public static JwtKeySet hmac(String secret) {
+        return new JwtKeySet(null, Keys.hmacShaKeyFor(secret.getBytes()), Map.of());
+    }
+
+    /**
+     * Key pair tạo lúc startup - chỉ dùng cho dev/test (jwt.signing.allow-ephemeral=true)
+     *
+     * Token không verify được sau khi restart hoặc trên instance khác.
+     */
+    public static JwtKeySet ephemeral(String algorithm) {
+        KeyPair keyPair = switch (algorithm) {
+            case ALGORITHM_ES256 -> Jwts.SIG.ES256.keyPair().build();
+            case ALGORITHM_EDDSA -> Jwks.CRV.Ed25519.keyPair().build();
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        };
+        String keyId = Jwks.builder().key(keyPair.getPublic()).idFromThumbprint().build().getId();
+        log.warn("No JWT signing keystore configured, using ephemeral {} key {}. "
+                + "Tokens will not survive restarts or verify on other instances.", algorithm, keyId);
+        return new JwtKeySet(keyId, keyPair.getPrivate(), Map.of(keyId, keyPair.getPublic()));
+    }
+
+    /**
+     * Load keys từ PKCS12 keystore - alias là kid
+     *
+     * Mọi key trong keystore đều được dùng để verify và publish qua JWKS; chỉ activeKeyId được dùng để ký.
+     * Rotate: thêm key mới vào keystore, publish (JWKS) trước, sau đó đổi active key ID,
+     * và chỉ xóa key cũ khi mọi token ký bằng nó đã expire.
+     */
+    public static JwtKeySet fromKeyStore(String path, String password, String activeKeyId) {
+        try {
+            char[] passwordChars = password.toCharArray();
+            KeyStore keyStore = KeyStore.getInstance(new File(path), passwordChars);
+
+            Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Certificate certificate = keyStore.getCertificate(alias);
+                if (certificate != null) {
+                    verificationKeys.put(alias, certificate.getPublicKey());
+                }
+            }
+
+            String signingKeyId = activeKeyId;
+            if (signingKeyId == null || signingKeyId.isBlank()) {
+                if (verificationKeys.size() != 1) {
+                    throw new IllegalStateException(
+                            "jwt.signing.active-key-id is required when the keystore holds more than one key");
+                }
+                signingKeyId = verificationKeys.keySet().iterator().next();
+            }
+            if (!(keyStore.getKey(signingKeyId, passwordChars) instanceof PrivateKey privateKey)) {
+                throw new IllegalStateException("No private key found in keystore for key ID: " + signingKeyId);
+            }
+
+            log.info("Loaded {} JWT verification keys, signing with key {}", verificationKeys.size(), signingKeyId);
+            return new JwtKeySet(signingKeyId, privateKey, verificationKeys);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load JWT signing keystore: " + path, e);
+        }
+    }
+
+    public boolean isAsymmetric() {
+        return activeKeyId != null;
+    }
+
+    /**
+     * Resolve verification key theo kid trong token header
+     */
+    public LocatorAdapter<Key> keyLocator() {
+        return new LocatorAdapter<>() {
+            @Override
+            protected Key locate(ProtectedHeader header) {
+                String keyId = header.getKeyId();
+                PublicKey key = keyId != null ? verificationKeys.get(keyId) : null;
+                if (key == null) {
+                    throw new InvalidKeyException("Unknown JWT key ID: " + keyId);
+                }
+                return key;
+            }
+        };
+    }
+
+    /**
+     * JWK Set (RFC 7517) chứa public keys
+     */
+    private static Map<String, Object> buildJwkSet(Map<String, PublicKey> verificationKeys) {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((keyId, publicKey) -> {
+            PublicJwk<?> jwk = Jwks.builder().key(publicKey).id(keyId).build();
+            keys.add(new LinkedHashMap<>(jwk));
+        });
+        return Map.of("keys", List.copyOf(keys));
+    }
+}
@@ -2,35 +2,116 @@ package com.example.backend.infrastructure.security;
 
 import com.example.backend.constants.ConfigConstants;
 import com.example.backend.constants.SecurityConstants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * JwtService - Service để generate và validate JWT tokens
  * 
  * Sử dụng JJWT library (version 0.12.3) - phiên bản mới nhất với API hiện đại
+ * 
+ * Token chứa roles và user ID dưới dạng signed claims, nên JwtAuthenticationFilter
+ * có thể build Authentication trực tiếp từ claims mà không cần query database.
+ * 
+ * Ký bằng ES256/EdDSA (kid header, nhiều keys để rotate, public keys publish qua JWKS)
+ * hoặc HS256 với shared secret (jwt.signing.algorithm=HS256).
+ * 
+ * Access token ngắn hạn và có jti (token ID) để có thể revoke khi logout (TokenRevocationList).
+ * 
+ * Verified claims được cache (key = SHA-256 của token) cho đến khi token expire,
+ * nên các request lặp lại với cùng token bỏ qua Base64 decode, JSON parse và HMAC verify.
  */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+    
+    private static final String TOKEN_CACHE_NAME = "jwtVerifiedTokens";
     
     // Using ConfigConstants for property key reference
     @Value("${jwt.secret:your-256-bit-secret-key-must-be-at-least-32-characters-long-for-hs256}")
     private String secret;
     
     // Using SecurityConstants for default expiration value
-    @Value("${jwt.expiration:86400000}") // Default: SecurityConstants.DEFAULT_TOKEN_EXPIRATION (24 hours)
+    @Value("${jwt.expiration:900000}") // Default: SecurityConstants.ACCESS_TOKEN_EXPIRATION (15 minutes)
     private Long expiration;
     
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+    
+    @Value("${jwt.signing.algorithm:ES256}")
+    private String signingAlgorithm;
+    
+    @Value("${jwt.signing.keystore.path:}")
+    private String keystorePath;
+    
+    @Value("${jwt.signing.keystore.password:}")
+    private String keystorePassword;
+    
+    @Value("${jwt.signing.active-key-id:}")
+    private String activeKeyId;
+    
+    // Ephemeral key pair khi không có keystore - chỉ bật cho dev/test (mỗi instance một key riêng)
+    @Value("${jwt.signing.allow-ephemeral:false}")
+    private boolean allowEphemeral;
+    
+    private JwtKeySet keySet;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+    
+    /**
+     * Load keys, build parser và cache một lần khi khởi tạo
+     */
+    @PostConstruct
+    void init() {
+        keySet = loadKeySet();
+        jwtParser = keySet.isAsymmetric()
+                ? Jwts.parser().keyLocator(keySet.keyLocator()).build()
+                : Jwts.parser().verifyWith((SecretKey) keySet.getSigningKey()).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * Parse và verify token đúng một lần
+     *
+     * Signature và expiration được check khi parse - token invalid hoặc expired
+     * sẽ throw JwtException. Claims trả về có thể reuse cho mọi thao tác tiếp theo.
+     */
+    public Claims parseToken(String token) {
+        return verifiedTokens.get(hashToken(token), key -> extractAllClaims(token));
+    }
+    
     /**
      * Extract username từ token
      */
@@ -49,7 +130,7 @@ public class JwtService {
      * Extract claim cụ thể từ token
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
     
@@ -57,18 +138,35 @@ public class JwtService {
      * Extract tất cả claims từ token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
     
     /**
-     * Check xem token có expired chưa
+     * Check xem claims có đủ thông tin để authenticate stateless không
+     *
+     * Token được issue trước khi có roles claim sẽ trả về false
+     */
+    public boolean hasAuthorities(Claims claims) {
+        return claims.get(SecurityConstants.JWT_ROLES_CLAIM) instanceof Collection<?>;
+    }
+    
+    /**
+     * Build UserPrincipal từ verified claims (không query database)
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public UserPrincipal toPrincipal(Claims claims) {
+        Collection<?> roles = claims.get(SecurityConstants.JWT_ROLES_CLAIM, Collection.class);
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+        Number userId = claims.get(SecurityConstants.JWT_USER_ID_CLAIM, Number.class);
+        return new UserPrincipal(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                "",
+                authorities
+        );
     }
     
     /**
@@ -76,26 +174,47 @@ public class JwtService {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        return generateToken(claims, userDetails);
     }
     
     /**
      * Generate token với extra claims
+     *
+     * Roles (và user ID nếu có) luôn được thêm vào claims
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return createToken(extraClaims, userDetails.getUsername());
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(SecurityConstants.JWT_ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof UserPrincipal principal && principal.getId() != null) {
+            claims.put(SecurityConstants.JWT_USER_ID_CLAIM, principal.getId());
+        }
+        return createToken(claims, userDetails.getUsername());
+    }
+    
+    /**
+     * Thời gian sống của access token (giây) - trả về cho client dưới dạng expiresIn
+     */
+    public long getExpirationSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(expiration);
     }
     
     /**
      * Tạo JWT token
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (keySet.isAsymmetric()) {
+            builder.header().keyId(keySet.getActiveKeyId());
+        }
+        return builder
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(keySet.getSigningKey())
                 .compact();
     }
     
@@ -103,16 +222,83 @@ public class JwtService {
      * Validate token
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = parseToken(token);
+        return (claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date()));
+    }
+    
+    /**
+     * Public keys dạng JWK Set - rỗng khi dùng HS256
+     */
+    public Map<String, Object> getJwkSet() {
+        return keySet.getJwkSet();
+    }
+    
+    /**
+     * Chọn key source theo configuration
+     *
+     * ES256/EdDSA không có keystore thì fail startup: ephemeral key làm token không verify được
+     * trên instance khác và mất hết sau restart. Chỉ cho phép khi jwt.signing.allow-ephemeral=true (dev/test).
+     */
+    private JwtKeySet loadKeySet() {
+        if (JwtKeySet.ALGORITHM_HS256.equals(signingAlgorithm)) {
+            return JwtKeySet.hmac(secret);
+        }
+        if (keystorePath != null && !keystorePath.isBlank()) {
+            return JwtKeySet.fromKeyStore(keystorePath, keystorePassword, activeKeyId);
+        }
+        if (!allowEphemeral) {
+            throw new IllegalStateException("No JWT signing keystore configured for " + signingAlgorithm
+                    + ": set jwt.signing.keystore.path, or jwt.signing.allow-ephemeral=true for dev/test only");
+        }
+        return JwtKeySet.ephemeral(signingAlgorithm);
+    }
+    
+    /**
+     * Expose hit/miss/eviction metrics của verified-token cache
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, TOKEN_CACHE_NAME);
+    }
+    
+    /**
+     * Hash token thành cache key - không giữ raw token trong memory
+     */
+    private String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     /**
-     * Get signing key từ secret
+     * Cache entry sống đến đúng thời điểm exp của token
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+        
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return 0L;
+            }
+            long remainingMillis = exp.getTime() - System.currentTimeMillis();
+            return Math.max(0L, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+        
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
 
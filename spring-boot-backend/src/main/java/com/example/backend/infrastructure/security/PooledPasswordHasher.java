@@ -0,0 +1,153 @@
+package com.example.backend.infrastructure.security;
+
+import com.example.backend.application.security.PasswordHasher;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.infrastructure.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PooledPasswordHasher - PasswordHasher chạy hashing/verification trên thread pool riêng (Infrastructure Layer)
+ *
+ * Bcrypt tốn CPU; chạy trên Tomcat request threads thì một đợt login/credential-stuffing
+ * có thể chiếm hết worker threads. Pool này:
+ * - Có số thread cố định (mặc định = số CPU cores)
+ * - Có queue giới hạn; khi đầy thì fail fast với ServiceOverloadedException (503 + Retry-After)
+ * - Expose queue depth, wait time và số request bị reject qua Micrometer
+ */
+@Component
+@Slf4j
+public class PooledPasswordHasher implements PasswordHasher, DisposableBean {
+
+    private static final String METRIC_PREFIX = "security.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PooledPasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${security.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time password hashing tasks spend waiting in the queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads, queue capacity {}", threads, queueCapacity);
+    }
+
+    /**
+     * Hash password trên hashing pool
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verify password trên hashing pool
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash có cần re-encode không (strength/algorithm cũ) - chỉ parse hash, không chạy trên pool
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+    
+    private <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(ApplicationConstants.ERROR_SERVICE_BUSY, retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Daemon threads với tên dễ nhận biết trong thread dump
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,20 +2,20 @@ package com.example.backend.infrastructure.security;
 
 import com.example.backend.constants.ApiConstants;
 import com.example.backend.constants.SecurityConstants;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -23,27 +23,31 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SecurityConfig - Configuration cho Spring Security
  * 
  * Cấu hình:
  * - JWT authentication
- * - Public endpoints (register, login, Swagger)
+ * - Không có AuthenticationManager/AuthenticationProvider: login được xử lý trong AuthenticationService
+ *   (một lần load user, verify password trên PasswordHasher pool)
+ * - Public endpoints (register, login, JWKS, Swagger)
  * - Protected endpoints (cần JWT token)
  * - CORS configuration
- * - Password encoding
+ * - Password encoding (DelegatingPasswordEncoder, bcrypt strength calibrate lúc startup)
  */
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
-    private final UserDetailsService userDetailsService;
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -51,9 +55,12 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatch sau khi StreamingResponseBody ghi xong - request gốc đã được authorize
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers(
                     ApiConstants.AUTH_BASE_PATH + "/**",
+                    ApiConstants.JWKS,
                     ApiConstants.SWAGGER_UI_BASE + "/**",
                     ApiConstants.SWAGGER_UI_HTML,
                     ApiConstants.SWAGGER_UI_INDEX,
@@ -61,7 +68,8 @@ public class SecurityConfig {
                     ApiConstants.API_DOCS_BASE,
                     ApiConstants.SWAGGER_RESOURCES,
                     ApiConstants.WEBJARS,
-                    ApiConstants.H2_CONSOLE
+                    ApiConstants.H2_CONSOLE,
+                    ApiConstants.ACTUATOR_HEALTH
                 ).permitAll()
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
@@ -69,37 +77,47 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider())
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
     
+    /**
+     * PasswordEncoder với {id} prefix để có thể đổi algorithm/parameters mà không invalidate hash cũ
+     * 
+     * - strength > 0: dùng strength cố định
+     * - strength = 0: benchmark lúc startup để đạt target-hash-time, không thấp hơn min-strength
+     * - Hash cũ không có prefix (bcrypt strength mặc định) vẫn match được và sẽ được upgrade khi login
+     */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
-    }
-    
-    @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
-    }
-    
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-encoding.strength:0}") int strength,
+            @Value("${security.password-encoding.target-hash-time:250ms}") Duration targetHashTime,
+            @Value("${security.password-encoding.min-strength:10}") int minStrength,
+            @Value("${security.password-encoding.max-strength:16}") int maxStrength) {
+        int bcryptStrength = strength > 0
+                ? strength
+                : BcryptStrengthCalibrator.calibrate(targetHashTime, minStrength, maxStrength);
+        log.info("Using bcrypt password encoding with strength {}", bcryptStrength);
+        
+        Map<String, PasswordEncoder> encoders = Map.of(
+                SecurityConstants.PASSWORD_ENCODER_BCRYPT_ID, new BCryptPasswordEncoder(bcryptStrength)
+        );
+        DelegatingPasswordEncoder passwordEncoder =
+                new DelegatingPasswordEncoder(SecurityConstants.PASSWORD_ENCODER_BCRYPT_ID, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
     
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("*")); // Trong production, nên specify origins cụ thể
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of(SecurityConstants.AUTHORIZATION_HEADER));
+        // ETag phải được expose để browser clients gửi lại trong If-Match / If-None-Match
+        configuration.setExposedHeaders(List.of(
+                SecurityConstants.AUTHORIZATION_HEADER, HttpHeaders.ETAG, ApiConstants.IDEMPOTENT_REPLAYED_HEADER));
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
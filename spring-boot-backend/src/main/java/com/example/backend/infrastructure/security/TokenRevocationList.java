@@ -0,0 +1,74 @@
+package com.example.backend.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenRevocationList - Danh sách access token (theo jti) đã bị revoke khi logout
+ *
+ * - Lookup O(1) trong memory, JwtAuthenticationFilter không cần query database
+ * - Mỗi entry chỉ giữ đến khi token expire (sau đó token bị reject bởi exp claim),
+ *   nên kích thước bị giới hạn bởi số logout trong một access-token lifetime
+ * - Local cho từng instance: khi chạy nhiều node cần chia sẻ qua store chung (Redis, ...)
+ */
+@Component
+@Slf4j
+public class TokenRevocationList implements MeterBinder {
+    
+    // jti -> thời điểm token expire (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    
+    /**
+     * Revoke access token đến khi nó expire
+     */
+    public void revoke(Claims claims) {
+        String tokenId = claims.getId();
+        Date expiration = claims.getExpiration();
+        if (tokenId == null || expiration == null) {
+            log.debug("Token without jti/exp cannot be revoked, it expires naturally");
+            return;
+        }
+        if (expiration.getTime() > System.currentTimeMillis()) {
+            revokedTokens.put(tokenId, expiration.getTime());
+        }
+    }
+    
+    /**
+     * Check token đã bị revoke chưa
+     */
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        return tokenId != null && revokedTokens.containsKey(tokenId);
+    }
+    
+    /**
+     * Xóa các entry mà token đã expire
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval:60000}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        int before = revokedTokens.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        int pruned = before - revokedTokens.size();
+        if (pruned > 0) {
+            log.debug("Pruned {} expired revoked tokens", pruned);
+        }
+    }
+    
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("security.jwt.revoked.size", revokedTokens, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(registry);
+    }
+}
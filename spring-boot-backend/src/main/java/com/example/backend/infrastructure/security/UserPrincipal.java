@@ -0,0 +1,49 @@
+package com.example.backend.infrastructure.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * UserPrincipal - UserDetails kèm theo user ID
+ *
+ * Được tạo từ database (UserDetailsServiceImpl) hoặc trực tiếp từ JWT claims
+ * (stateless authentication), nên các layer khác có thể dùng ID mà không cần query lại.
+ */
+@Getter
+public class UserPrincipal extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public UserPrincipal(Long id, String username, String password,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    /**
+     * Build principal từ User entity đã load (không query thêm)
+     */
+    public static UserPrincipal from(com.example.backend.domain.model.User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                getAuthorities(user)
+        );
+    }
+
+    /**
+     * Convert roles thành GrantedAuthorities - roles phải được fetch cùng user, nếu không sẽ lazy load
+     */
+    private static Collection<? extends GrantedAuthority> getAuthorities(com.example.backend.domain.model.User user) {
+        return user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList();
+    }
+}
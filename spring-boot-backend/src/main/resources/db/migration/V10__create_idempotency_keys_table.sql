@@ -0,0 +1,17 @@
+-- Flyway Migration: Idempotency keys
+-- Version: 10
+-- Description: Response đầu tiên của POST có Idempotency-Key (idempotency.store = jdbc) - dùng chung
+-- giữa các instances. status NULL = request đầu tiên đang xử lý, expires_at là lock timeout cho tới
+-- khi response được lưu, sau đó là TTL. Compatible with both PostgreSQL and H2
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status INT,
+    content_type VARCHAR(255),
+    body TEXT,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Index cho cleanup job theo expires_at
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,6 @@
+-- Flyway Migration: Index cho keyset pagination theo created_at
+-- Version: 3
+-- Description: (created_at, id) để ORDER BY created_at, id + điều kiện keyset là index range scan
+-- Compatible with both PostgreSQL and H2
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at, id);
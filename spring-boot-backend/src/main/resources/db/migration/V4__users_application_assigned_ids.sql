@@ -0,0 +1,7 @@
+-- Flyway Migration: Application-assigned user IDs
+-- Version: 4
+-- Description: users.id được gán bởi TimeOrderedIdGenerator (Snowflake-style, time-ordered) trước INSERT,
+-- không còn dùng sequence/identity của database. ID mới luôn lớn hơn ID BIGSERIAL cũ.
+-- Compatible with both PostgreSQL and H2
+
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
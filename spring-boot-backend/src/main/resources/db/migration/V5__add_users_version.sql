@@ -0,0 +1,6 @@
+-- Flyway Migration: Optimistic locking version cho users
+-- Version: 5
+-- Description: users.version tăng mỗi lần update (JPA @Version) - dùng cho ETag / If-Match
+-- Compatible with both PostgreSQL and H2
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
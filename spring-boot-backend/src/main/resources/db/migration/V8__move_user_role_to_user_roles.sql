@@ -0,0 +1,13 @@
+-- Flyway Migration: Multi-role users
+-- Version: 8
+-- Description: Roles chuyển sang bảng user_roles (đã có từ V1); copy role hiện tại của mỗi user
+-- rồi bỏ cột users.role. Compatible with both PostgreSQL and H2
+
+INSERT INTO user_roles (user_id, role)
+SELECT u.id, u.role
+FROM users u
+WHERE NOT EXISTS (
+    SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND r.role = u.role
+);
+
+ALTER TABLE users DROP COLUMN role;
@@ -0,0 +1,8 @@
+-- Flyway Migration: Last login timestamp
+-- Version: 9
+-- Description: users.last_login_at (ghi write-behind theo batch khi login) - index cho
+-- inactive-account reporting (last_login_at < cutoff). Compatible with both PostgreSQL and H2
+
+ALTER TABLE users ADD COLUMN last_login_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_users_last_login_at ON users(last_login_at);
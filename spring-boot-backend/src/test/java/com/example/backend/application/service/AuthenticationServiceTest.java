@@ -0,0 +1,227 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.AuthResponse;
+import com.example.backend.application.dto.LoginRequest;
+import com.example.backend.application.dto.RefreshTokenRequest;
+import com.example.backend.application.dto.RegisterRequest;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.event.UserChangedEvent;
+import com.example.backend.application.mapper.UserMapper;
+import com.example.backend.application.security.AccessTokenService;
+import com.example.backend.application.security.PasswordHasher;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.domain.model.Role;
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho AuthenticationService
+ *
+ * Test strategy:
+ * - Login chỉ load user một lần và mint token từ cùng entity
+ * - Hash cũ được re-encode và lưu lại sau khi login thành công
+ * - Sai password hoặc email không tồn tại đều trả về BadCredentialsException
+ * - Register chỉ INSERT một lần, duplicate email được map từ UNIQUE constraint
+ * - Refresh mint access token cho user của refresh token đã rotate
+ * - Logout revoke access token và refresh token
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthenticationService Unit Tests")
+class AuthenticationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private AccessTokenService accessTokenService;
+    
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LastLoginTracker lastLoginTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AuthenticationService authenticationService;
+
+    private LoginRequest loginRequest;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        loginRequest = LoginRequest.builder()
+                .email("john@example.com")
+                .password("secret123")
+                .build();
+
+        user = User.builder()
+                .id(1L)
+                .name("John Doe")
+                .email("john@example.com")
+                .password("hashed-password")
+                .roles(EnumSet.of(Role.USER))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should login with a single user lookup")
+    void testLogin_Success() {
+        // Given
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret123", "hashed-password")).thenReturn(true);
+        when(accessTokenService.issue(user)).thenReturn("jwt-token");
+        when(userMapper.toResponse(user)).thenReturn(UserResponse.builder().id(1L).build());
+
+        // When
+        AuthResponse response = authenticationService.login(loginRequest);
+
+        // Then
+        assertEquals("jwt-token", response.getToken());
+        assertEquals(1L, response.getUser().getId());
+        verify(userRepository, times(1)).findByEmail(loginRequest.getEmail());
+        verify(lastLoginTracker).recordLogin(1L);
+    }
+
+    @Test
+    @DisplayName("Should re-encode outdated password hash on successful login")
+    void testLogin_UpgradesPasswordEncoding() {
+        // Given
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret123", "hashed-password")).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("hashed-password")).thenReturn(true);
+        when(passwordHasher.encode("secret123")).thenReturn("{bcrypt}upgraded-hash");
+        when(accessTokenService.issue(user)).thenReturn("jwt-token");
+        
+        // When
+        authenticationService.login(loginRequest);
+        
+        // Then
+        verify(userRepository).updatePasswordByEmail("john@example.com", "{bcrypt}upgraded-hash");
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+        assertEquals("{bcrypt}upgraded-hash", user.getPassword());
+    }
+    
+    @Test
+    @DisplayName("Should reject wrong password")
+    void testLogin_WrongPassword() {
+        // Given
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret123", "hashed-password")).thenReturn(false);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> authenticationService.login(loginRequest));
+        verify(accessTokenService, never()).issue(any(User.class));
+        verifyNoInteractions(lastLoginTracker);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown email after checking a dummy hash")
+    void testLogin_UnknownEmail() {
+        // Given
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.empty());
+        when(passwordHasher.encode(anyString())).thenReturn("dummy-hash");
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> authenticationService.login(loginRequest));
+        verify(passwordHasher).matches("secret123", "dummy-hash");
+    }
+
+    @Test
+    @DisplayName("Should register with a single insert and mint token from saved entity")
+    void testRegister_Success() {
+        // Given
+        RegisterRequest request = RegisterRequest.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .password("secret123")
+                .build();
+        when(passwordHasher.encode("secret123")).thenReturn("hashed-password");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+        when(accessTokenService.issue(user)).thenReturn("jwt-token");
+
+        // When
+        AuthResponse response = authenticationService.register(request);
+
+        // Then
+        assertEquals("jwt-token", response.getToken());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should map unique constraint violation to email already exists")
+    void testRegister_DuplicateEmail() {
+        // Given
+        RegisterRequest request = RegisterRequest.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .password("secret123")
+                .build();
+        when(passwordHasher.encode("secret123")).thenReturn("hashed-password");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key", new SQLException("duplicate key value violates unique constraint \"users_email_key\"", "23505")));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> authenticationService.register(request)
+        );
+        assertEquals(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS, exception.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Should mint new token pair from rotated refresh token")
+    void testRefresh_Success() {
+        // Given
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RefreshTokenService.RotatedRefreshToken(user, "new-refresh-token"));
+        when(accessTokenService.issue(user)).thenReturn("jwt-token");
+        
+        // When
+        AuthResponse response = authenticationService.refresh(new RefreshTokenRequest("old-refresh-token"));
+        
+        // Then
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("new-refresh-token", response.getRefreshToken());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+    
+    @Test
+    @DisplayName("Should revoke access token and refresh token on logout")
+    void testLogout_RevokesTokens() {
+        // When
+        authenticationService.logout("jwt-token", "refresh-token");
+        
+        // Then
+        verify(accessTokenService).revoke("jwt-token");
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+}
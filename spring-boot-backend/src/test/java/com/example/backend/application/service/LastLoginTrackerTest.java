@@ -0,0 +1,101 @@
+package com.example.backend.application.service;
+
+import com.example.backend.domain.repository.UserBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho LastLoginTracker
+ *
+ * Test strategy:
+ * - Nhiều logins của cùng user giữa hai lần flush thành một row trong một JDBC batch
+ * - Buffer đầy thì bỏ qua user mới (metric dropped), user đã có trong buffer vẫn được cập nhật
+ * - Flush lỗi thì entries được giữ lại cho lần flush sau
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LastLoginTracker Unit Tests")
+class LastLoginTrackerTest {
+
+    @Mock
+    private UserBatchRepository userBatchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should coalesce logins per user into one batch update")
+    void testFlush_CoalescesPerUser() {
+        // Given
+        LastLoginTracker tracker = tracker(100);
+        when(userBatchRepository.batchUpdateLastLogin(anyMap())).thenAnswer(invocation -> invocation.<Map<?, ?>>getArgument(0).size());
+        tracker.recordLogin(1L);
+        tracker.recordLogin(2L);
+        tracker.recordLogin(1L);
+
+        // When
+        tracker.flush();
+        tracker.flush();
+
+        // Then
+        ArgumentCaptor<Map<Long, LocalDateTime>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(userBatchRepository, times(1)).batchUpdateLastLogin(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals(0.0, meterRegistry.get("users.last_login.pending").gauge().value());
+        assertEquals(1, meterRegistry.get("users.last_login.flush").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should drop new users when full and keep entries after a failed flush")
+    void testFlush_BoundedAndRetried() {
+        // Given
+        LastLoginTracker tracker = tracker(2);
+        tracker.recordLogin(1L);
+        tracker.recordLogin(2L);
+        tracker.recordLogin(3L);
+        tracker.recordLogin(2L);
+        when(userBatchRepository.batchUpdateLastLogin(anyMap()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(2);
+
+        // When
+        tracker.flush();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("users.last_login.dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("users.last_login.pending").gauge().value());
+
+        tracker.flushOnShutdown();
+        ArgumentCaptor<Map<Long, LocalDateTime>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(userBatchRepository, times(2)).batchUpdateLastLogin(batch.capture());
+        assertEquals(Set.of(1L, 2L), batch.getValue().keySet());
+        assertEquals(0.0, meterRegistry.get("users.last_login.pending").gauge().value());
+    }
+
+    private LastLoginTracker tracker(int capacity) {
+        return new LastLoginTracker(userBatchRepository, new TransactionTemplate(transactionManager), meterRegistry, capacity);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.application.service;
+
+import com.example.backend.domain.model.RefreshToken;
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho RefreshTokenService
+ *
+ * Test strategy:
+ * - Rotate xóa token cũ và tạo token mới cho cùng user
+ * - Token đã được dùng (DELETE trả về 0 row) bị reject
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    @DisplayName("Should consume old token and issue a new one")
+    void testRotate_Success() {
+        // Given
+        User user = User.builder().id(1L).email("john@example.com").build();
+        RefreshToken existing = RefreshToken.builder()
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(existing));
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
+
+        // When
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotate("old-token");
+
+        // Then
+        assertSame(user, rotated.user());
+        assertNotEquals("old-token", rotated.refreshToken());
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should reject token already consumed by a concurrent refresh")
+    void testRotate_AlreadyUsed() {
+        // Given
+        RefreshToken existing = RefreshToken.builder()
+                .user(User.builder().id(1L).build())
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(existing));
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(0);
+
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("old-token"));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+}
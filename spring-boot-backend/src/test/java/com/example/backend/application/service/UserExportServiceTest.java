@@ -0,0 +1,108 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.repository.UserQueryRepository;
+import com.example.backend.constants.DomainConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Test cho UserExportService
+ *
+ * Test strategy:
+ * - Mỗi user là một dòng NDJSON / CSV (CSV được escape theo RFC 4180)
+ * - Export đọc UserResponse projection, chạy hết stream và đóng stream
+ * - Output chỉ được flush theo chunk EXPORT_FETCH_SIZE rows, không phải mỗi row
+ * - Export rỗng không có dòng nào (NDJSON hợp lệ)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserExportService Unit Tests")
+class UserExportServiceTest {
+
+    @Mock
+    private UserQueryRepository userQueryRepository;
+
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportService(userQueryRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("Should write one escaped CSV row per user")
+    void testExport_Csv() throws Exception {
+        // Given
+        when(userQueryRepository.streamAllResponsesOrderById()).thenReturn(Stream.of(
+                UserResponse.builder().id(1L).name("Doe, John").email("john@example.com").bio("Says \"hi\"").build()));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = userExportService.export(UserExportFormat.CSV, output);
+
+        // Then
+        assertEquals(1, count);
+        assertEquals("id,name,email,bio,createdAt,updatedAt\n"
+                        + "1,\"Doe, John\",john@example.com,\"Says \"\"hi\"\"\",,\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should stream one NDJSON line per user across flush chunks and close the stream")
+    void testExport_Ndjson() throws Exception {
+        // Given
+        int rows = DomainConstants.EXPORT_FETCH_SIZE * 2 + 1;
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userQueryRepository.streamAllResponsesOrderById()).thenReturn(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> UserResponse.builder().id(id).name("User " + id).email(id + "@example.com").build())
+                .onClose(() -> closed.set(true)));
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // When
+        long count = userExportService.export(UserExportFormat.NDJSON, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(rows, count);
+        assertEquals(rows, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(closed.get());
+        assertTrue(flushes.get() <= rows / DomainConstants.EXPORT_FETCH_SIZE + 2, "flushes: " + flushes.get());
+    }
+
+    @Test
+    @DisplayName("Should write no lines for an empty NDJSON export")
+    void testExport_NdjsonEmpty() throws Exception {
+        // Given
+        when(userQueryRepository.streamAllResponsesOrderById()).thenReturn(Stream.empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = userExportService.export(UserExportFormat.NDJSON, output);
+
+        // Then
+        assertEquals(0, count);
+        assertEquals("", output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.ImportFailure;
+import com.example.backend.application.dto.ImportResult;
+import com.example.backend.application.mapper.UserMapper;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.UserBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho UserImportService
+ *
+ * Test strategy:
+ * - Row không hợp lệ được report theo row number, các rows còn lại vẫn được import trong một batch
+ * - Email đã tồn tại hoặc lặp lại trong payload được report, không abort import
+ * - JSON row sai kiểu dữ liệu được report theo row, các rows sau vẫn được đọc
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserImportService Unit Tests")
+class UserImportServiceTest {
+
+    @Mock
+    private UserBatchRepository userBatchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportService(
+                userBatchRepository,
+                new UserMapper(),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Should report invalid JSON rows and batch insert the valid ones")
+    void testImportJson_ReportsInvalidRows() throws Exception {
+        // Given
+        String payload = """
+                [
+                  {"name": "John Doe", "email": "john@example.com"},
+                  {"name": "J", "email": "not-an-email"},
+                  {"name": "Jane Doe", "email": "jane@example.com", "bio": "Hi"}
+                ]
+                """;
+        when(userBatchRepository.findExistingEmails(any())).thenReturn(Set.of());
+        when(userBatchRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.<List<User>>getArgument(0).size());
+
+        // When
+        ImportResult result = userImportService.importJson(inputOf(payload));
+
+        // Then
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        ImportFailure failure = result.getFailures().get(0);
+        assertEquals(2, failure.getRow());
+        assertTrue(failure.getMessage().contains("email"));
+        assertTrue(failure.getMessage().contains("name"));
+
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userBatchRepository, times(1)).batchInsert(batch.capture());
+        assertEquals(List.of("john@example.com", "jane@example.com"),
+                batch.getValue().stream().map(User::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("Should report JSON rows with mismatched types and keep reading")
+    void testImportJson_ReportsTypeMismatch() throws Exception {
+        // Given
+        String payload = """
+                [
+                  {"name": {"first": "John"}, "email": "john@example.com"},
+                  ["not", "an", "object"],
+                  {"name": "Jane Doe", "email": "jane@example.com"}
+                ]
+                """;
+        when(userBatchRepository.findExistingEmails(any())).thenReturn(Set.of());
+        when(userBatchRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.<List<User>>getArgument(0).size());
+
+        // When
+        ImportResult result = userImportService.importJson(inputOf(payload));
+
+        // Then
+        assertEquals(3, result.getTotal());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(1L, 2L), result.getFailures().stream().map(ImportFailure::getRow).toList());
+        assertEquals(ApplicationConstants.ERROR_INVALID_IMPORT_ROW + ": name", result.getFailures().get(0).getMessage());
+        assertTrue(result.getFailures().get(1).getMessage().startsWith(ApplicationConstants.ERROR_INVALID_IMPORT_ROW));
+    }
+
+    @Test
+    @DisplayName("Should report existing and repeated CSV emails without aborting")
+    void testImportCsv_ReportsDuplicateEmails() throws Exception {
+        // Given
+        String payload = "name,email,bio\r\n"
+                + "\"Doe, John\",john@example.com,\"Says \"\"hi\"\"\"\r\n"
+                + "Jane Doe,jane@example.com,\r\n"
+                + "John Again,john@example.com,\r\n"
+                + "Bob Smith,bob@example.com,\r\n";
+        when(userBatchRepository.findExistingEmails(any())).thenReturn(Set.of("jane@example.com"));
+        when(userBatchRepository.batchInsert(anyList())).thenAnswer(invocation -> invocation.<List<User>>getArgument(0).size());
+
+        // When
+        ImportResult result = userImportService.importCsv(inputOf(payload));
+
+        // Then
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(3L, 2L), result.getFailures().stream().map(ImportFailure::getRow).toList());
+        assertTrue(result.getFailures().stream()
+                .allMatch(failure -> ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS.equals(failure.getMessage())));
+
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userBatchRepository).batchInsert(batch.capture());
+        User john = batch.getValue().get(0);
+        assertEquals("Doe, John", john.getName());
+        assertEquals("Says \"hi\"", john.getBio());
+    }
+
+    private ByteArrayInputStream inputOf(String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.repository.UserQueryRepository;
+import com.example.backend.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.example.backend.infrastructure.persistence.RoutingReadConsistency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho UserLookupCoalescer
+ *
+ * Test strategy:
+ * - Lookups đồng thời trong cùng window dùng chung một query IN, mỗi caller nhận đúng user của mình
+ * - Lookup đơn lẻ không chờ window; follower bị treo quá await-timeout thì tự query
+ * - Window = 0 thì mỗi lookup là một query riêng
+ * - Query đọc từ primary kể cả khi replica bị lag (kết quả đi vào shared cache)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLookupCoalescer Unit Tests")
+class UserLookupCoalescerTest {
+
+    @Mock
+    private UserQueryRepository userQueryRepository;
+
+    private final RoutingReadConsistency readConsistency = new RoutingReadConsistency();
+
+    @Test
+    @DisplayName("Should merge concurrent lookups into one IN query")
+    void testLoad_CoalescesConcurrentLookups() throws Exception {
+        // Given
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(
+                userQueryRepository, readConsistency, new SimpleMeterRegistry(), Duration.ofMillis(200), 100, Duration.ofSeconds(5));
+        CountDownLatch blockerQueried = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        when(userQueryRepository.findResponsesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(0L)) {
+                blockerQueried.countDown();
+                awaitQuietly(releaseBlocker);
+            }
+            return ids.stream()
+                    .filter(id -> id != 4L)
+                    .map(id -> UserResponse.builder().id(id).name("User " + id).build())
+                    .toList();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        // Một lookup đang chạy - các lookups sau thấy có concurrency nên leader chờ window
+        CompletableFuture<Optional<UserResponse>> blocker = CompletableFuture.supplyAsync(() -> coalescer.load(0L), executor);
+        assertTrue(blockerQueried.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<CompletableFuture<Optional<UserResponse>>> results;
+        try {
+            results = IntStream.rangeClosed(1, 5)
+                    .mapToObj(id -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(start);
+                        return coalescer.load((long) id);
+                    }, executor))
+                    .toList();
+            start.countDown();
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            releaseBlocker.countDown();
+            blocker.join();
+            executor.shutdown();
+        }
+
+        // Then
+        verify(userQueryRepository, times(2)).findResponsesByIdIn(anyCollection());
+        verify(userQueryRepository).findResponsesByIdIn(argThat(ids -> ids.containsAll(List.of(1L, 2L, 3L, 4L, 5L))));
+        assertEquals("User 1", results.get(0).join().orElseThrow().getName());
+        assertTrue(results.get(3).join().isEmpty());
+        assertEquals(5L, results.get(4).join().orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should not wait for the window when no other lookup is running")
+    void testLoad_SingleLookupSkipsWindow() {
+        // Given
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(
+                userQueryRepository, readConsistency, new SimpleMeterRegistry(), Duration.ofSeconds(10), 100, Duration.ofSeconds(5));
+        when(userQueryRepository.findResponsesByIdIn(anyCollection()))
+                .thenReturn(List.of(UserResponse.builder().id(1L).build()));
+
+        // When & Then
+        Optional<UserResponse> result = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> coalescer.load(1L));
+        assertEquals(1L, result.orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should query directly when the batch does not complete within the await timeout")
+    void testLoad_FollowerFallsBackAfterTimeout() throws Exception {
+        // Given - mọi batch query bị treo tới khi test release
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(
+                userQueryRepository, readConsistency, new SimpleMeterRegistry(), Duration.ofMillis(500), 100, Duration.ofMillis(100));
+        CountDownLatch firstQuery = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userQueryRepository.findResponsesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            firstQuery.countDown();
+            awaitQuietly(release);
+            return List.of();
+        });
+        when(userQueryRepository.findResponseById(3L))
+                .thenReturn(Optional.of(UserResponse.builder().id(3L).name("Direct").build()));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            // Lookup 1 chạy một mình và treo; lookup 2 mở batch mới và chờ window; lookup 3 là follower của batch đó
+            CompletableFuture<Optional<UserResponse>> stalled = CompletableFuture.supplyAsync(() -> coalescer.load(1L), executor);
+            assertTrue(firstQuery.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Optional<UserResponse>> leader = CompletableFuture.supplyAsync(() -> coalescer.load(2L), executor);
+            Thread.sleep(50);
+
+            // When
+            CompletableFuture<Optional<UserResponse>> follower = CompletableFuture.supplyAsync(() -> coalescer.load(3L), executor);
+
+            // Then
+            assertEquals("Direct", follower.get(2, TimeUnit.SECONDS).orElseThrow().getName());
+            assertFalse(stalled.isDone());
+            release.countDown();
+            assertTrue(stalled.get(5, TimeUnit.SECONDS).isEmpty());
+            leader.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should query directly when coalescing is disabled")
+    void testLoad_WindowDisabled() {
+        // Given
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(
+                userQueryRepository, readConsistency, new SimpleMeterRegistry(), Duration.ZERO, 100, Duration.ofSeconds(5));
+        UserResponse response = UserResponse.builder().id(1L).build();
+        when(userQueryRepository.findResponseById(1L)).thenReturn(Optional.of(response));
+
+        // When & Then
+        assertSame(response, coalescer.load(1L).orElseThrow());
+        verify(userQueryRepository, never()).findResponsesByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should read from the primary even when a read replica lags behind")
+    void testLoad_IgnoresLaggingReplica() throws Exception {
+        // Given - replica chưa nhận rename đã commit trên primary
+        DataSource primary = h2("primary", "Renamed User");
+        DataSource laggingReplica = h2("lagging-replica", "Old Name");
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, List.of(laggingReplica), Duration.ofMinutes(1), Duration.ofSeconds(5), () -> null));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnly.setReadOnly(true);
+        // Repository query chạy trong read-only transaction giống Spring Data
+        when(userQueryRepository.findResponsesByIdIn(anyCollection())).thenAnswer(invocation -> readOnly.execute(status ->
+                new JdbcTemplate(routing).query("SELECT id, name FROM users", (rs, rowNum) -> UserResponse.builder()
+                        .id(rs.getLong("id")).name(rs.getString("name")).build())));
+        when(userQueryRepository.findResponseById(1L)).thenAnswer(invocation -> readOnly.execute(status ->
+                Optional.of(UserResponse.builder().id(1L).name(new JdbcTemplate(routing)
+                        .queryForObject("SELECT name FROM users WHERE id = 1", String.class)).build())));
+        UserLookupCoalescer coalescing = new UserLookupCoalescer(
+                userQueryRepository, readConsistency, new SimpleMeterRegistry(), Duration.ofMillis(1), 100, Duration.ofSeconds(5));
+        UserLookupCoalescer direct = new UserLookupCoalescer(
+                userQueryRepository, readConsistency, new SimpleMeterRegistry(), Duration.ZERO, 100, Duration.ofSeconds(5));
+
+        // When & Then - leader trên thread khác (như refresh thread của cache) cũng đọc từ primary
+        assertEquals("Renamed User", CompletableFuture.supplyAsync(() -> coalescing.load(1L)).get()
+                .orElseThrow().getName());
+        assertEquals("Renamed User", direct.load(1L).orElseThrow().getName());
+        assertEquals("Old Name", readOnly.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT name FROM users WHERE id = 1", String.class)));
+    }
+
+    private static DataSource h2(String name, String userName) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:coalescer-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        jdbcTemplate.execute("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, name) VALUES (1, ?)", userName);
+        return dataSource;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserPatchRequest;
+import com.example.backend.application.dto.UserRequest;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.exception.PreconditionFailedException;
+import com.example.backend.constants.ApplicationConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Test cho UserService.patchUser (H2, single-statement UPDATE qua FINAL TABLE)
+ *
+ * Test strategy:
+ * - Chỉ fields được gửi bị thay đổi, version tăng, response giống lần đọc tiếp theo
+ * - Version không khớp và email trùng bị từ chối, user không đổi
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("UserService Patch Integration Tests")
+class UserPatchIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("Should update only supplied fields and return the new state")
+    void testPatchUser_OnlySuppliedFields() {
+        // Given
+        UserResponse created = userService.createUser(UserRequest.builder()
+                .name("Patch Before").email("patch-fields@example.com").bio("Original bio").build());
+        UserPatchRequest patch = new UserPatchRequest();
+        patch.setName("Patch After");
+
+        // When
+        UserResponse patched = userService.patchUser(created.getId(), patch, Set.of(created.getVersion()));
+
+        // Then
+        assertEquals("Patch After", patched.getName());
+        assertEquals("patch-fields@example.com", patched.getEmail());
+        assertEquals("Original bio", patched.getBio());
+        assertEquals(created.getVersion() + 1, patched.getVersion());
+        assertEquals(created.getCreatedAt(), patched.getCreatedAt());
+        assertEquals(patched, userService.getUserById(created.getId()));
+
+        UserPatchRequest clearBio = new UserPatchRequest();
+        clearBio.setBio(null);
+        assertNull(userService.patchUser(created.getId(), clearBio, null).getBio());
+    }
+
+    @Test
+    @DisplayName("Should reject stale versions and duplicate emails without changing the user")
+    void testPatchUser_Rejected() {
+        // Given
+        UserResponse created = userService.createUser(UserRequest.builder()
+                .name("Patch Conflict").email("patch-conflict@example.com").build());
+        userService.createUser(UserRequest.builder().name("Patch Other").email("patch-other@example.com").build());
+        UserPatchRequest stale = new UserPatchRequest();
+        stale.setName("Stale Write");
+        UserPatchRequest duplicate = new UserPatchRequest();
+        duplicate.setEmail("patch-other@example.com");
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.patchUser(created.getId(), stale, Set.of(created.getVersion() + 1)));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userService.patchUser(created.getId(), duplicate, null));
+        assertEquals(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS, exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> userService.patchUser(-1L, stale, null));
+
+        UserResponse current = userService.getUserById(created.getId());
+        assertEquals("Patch Conflict", current.getName());
+        assertEquals(created.getVersion(), current.getVersion());
+    }
+}
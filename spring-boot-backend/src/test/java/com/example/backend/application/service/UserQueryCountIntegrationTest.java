@@ -0,0 +1,103 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.PageResponse;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.pagination.UserSortField;
+import com.example.backend.domain.model.Role;
+import com.example.backend.domain.model.User;
+import com.example.backend.domain.repository.UserRepository;
+import com.example.backend.infrastructure.security.UserDetailsServiceImpl;
+import com.example.backend.infrastructure.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-count Integration Test cho users + roles (H2, Hibernate statistics)
+ *
+ * Test strategy:
+ * - loadUserByUsername fetch user và tất cả roles trong một query
+ * - List endpoints chạy một query cho cả page, không query roles theo từng user
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("User Query Count Integration Tests")
+class UserQueryCountIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < 3; i++) {
+            String email = "query-count-" + i + "@example.com";
+            if (!userRepository.existsByEmail(email)) {
+                userRepository.save(User.builder()
+                        .name("Query Count " + i)
+                        .email(email)
+                        .password("{noop}secret")
+                        .roles(EnumSet.of(Role.USER, Role.ADMIN))
+                        .build());
+            }
+        }
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load user details with all roles in one query")
+    void testLoadUserByUsername_SingleQuery() {
+        // When
+        UserPrincipal principal = userDetailsService.loadUserByUsername("query-count-0@example.com");
+
+        // Then
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    @DisplayName("Should list users with one query per page")
+    void testListUsers_SingleQueryPerPage() {
+        // When
+        PageResponse<UserResponse> keysetPage = userService.getUsers(UserSortField.ID, Sort.Direction.ASC, 50, null);
+        long keysetStatements = statistics.getPrepareStatementCount();
+        userService.getUsersPage(UserSortField.CREATED_AT, Sort.Direction.DESC, 0, 50);
+        long offsetStatements = statistics.getPrepareStatementCount() - keysetStatements;
+        userService.searchUsers("query-count", UserSearchMatch.PREFIX, 0, 50);
+        long searchStatements = statistics.getPrepareStatementCount() - keysetStatements - offsetStatements;
+
+        // Then
+        assertTrue(keysetPage.getItems().size() >= 3);
+        assertEquals(1, keysetStatements);
+        assertEquals(1, offsetStatements);
+        assertEquals(1, searchStatements);
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+}
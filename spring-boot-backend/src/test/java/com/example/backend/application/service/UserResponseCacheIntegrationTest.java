@@ -0,0 +1,70 @@
+package com.example.backend.application.service;
+
+import com.example.backend.application.dto.UserRequest;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.constants.ApplicationConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Test cho UserResponseCache (H2, full context)
+ *
+ * Test strategy:
+ * - getUserById lần hai được phục vụ từ cache
+ * - Sau khi update/delete commit, lần đọc tiếp theo thấy dữ liệu mới - không còn stale entry
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("UserResponseCache Integration Tests")
+class UserResponseCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("Should not serve a stale user after update commits")
+    void testGetUserById_NoStaleReadAfterUpdate() {
+        // Given
+        Long id = userService.createUser(request("Cache Before", "cache-update@example.com")).getId();
+        UserResponse cached = userService.getUserById(id);
+        assertSame(cached, userService.getUserById(id));
+
+        // When
+        userService.updateUser(id, request("Cache After", "cache-updated@example.com"));
+
+        // Then
+        UserResponse fresh = userService.getUserById(id);
+        assertEquals("Cache After", fresh.getName());
+        assertEquals("cache-updated@example.com", fresh.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should not serve a deleted user")
+    void testGetUserById_NoStaleReadAfterDelete() {
+        // Given
+        Long id = userService.createUser(request("Cache Delete", "cache-delete@example.com")).getId();
+        userService.getUserById(id);
+
+        // When
+        userService.deleteUser(id);
+
+        // Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> userService.getUserById(id)
+        );
+        assertEquals(ApplicationConstants.ERROR_USER_NOT_FOUND, exception.getMessage());
+    }
+
+    private UserRequest request(String name, String email) {
+        return UserRequest.builder()
+                .name(name)
+                .email(email)
+                .build();
+    }
+}
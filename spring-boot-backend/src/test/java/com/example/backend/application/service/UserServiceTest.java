@@ -1,7 +1,17 @@
 package com.example.backend.application.service;
 
+import com.example.backend.application.dto.BulkDeleteResult;
+import com.example.backend.application.dto.PageResponse;
+import com.example.backend.application.dto.UserPatchRequest;
 import com.example.backend.application.dto.UserRequest;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.application.event.UserChangedEvent;
+import com.example.backend.application.exception.PreconditionFailedException;
 import com.example.backend.application.mapper.UserMapper;
+import com.example.backend.application.pagination.UserSortField;
+import com.example.backend.application.repository.UserPatchRepository;
+import com.example.backend.application.repository.UserQueryRepository;
 import com.example.backend.domain.model.User;
 import com.example.backend.domain.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +21,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,9 +54,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     
+    @Mock
+    private UserQueryRepository userQueryRepository;
+    
+    @Mock
+    private UserPatchRepository userPatchRepository;
+    
     @Mock
     private UserMapper userMapper;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private UserResponseCache userResponseCache;
+    
     @InjectMocks
     private UserService userService;
     
@@ -63,24 +95,25 @@ class UserServiceTest {
     @DisplayName("Should create user successfully")
     void testCreateUser_Success() {
         // Given
-        when(userRepository.existsByEmail(userRequest.getEmail())).thenReturn(false);
         when(userMapper.toEntity(userRequest)).thenReturn(user);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
         
         // When
         userService.createUser(userRequest);
         
-        // Then
-        verify(userRepository).existsByEmail(userRequest.getEmail());
+        // Then - chỉ một INSERT, không check email trước
         verify(userMapper).toEntity(userRequest);
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
+        verify(userRepository, never()).existsByEmail(any());
     }
     
     @Test
     @DisplayName("Should throw exception when email already exists")
     void testCreateUser_EmailExists() {
-        // Given
-        when(userRepository.existsByEmail(userRequest.getEmail())).thenReturn(true);
+        // Given - UNIQUE constraint trên email bị vi phạm khi insert
+        when(userMapper.toEntity(userRequest)).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key", new SQLException("duplicate key value violates unique constraint \"users_email_key\"", "23505")));
         
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -88,8 +121,25 @@ class UserServiceTest {
                 () -> userService.createUser(userRequest)
         );
         
-        assertEquals("Email already exists: " + userRequest.getEmail(), exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        assertEquals(ApplicationConstants.ERROR_EMAIL_ALREADY_EXISTS, exception.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Should not report other unique violations as duplicate email")
+    void testCreateUser_PrimaryKeyViolation() {
+        // Given - trùng primary key (ví dụ hai instance cùng node ID), không phải lỗi của client
+        DataIntegrityViolationException primaryKeyViolation = new DataIntegrityViolationException(
+                "duplicate key", new SQLException("duplicate key value violates unique constraint \"users_pkey\"", "23505"));
+        when(userMapper.toEntity(userRequest)).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(primaryKeyViolation);
+        
+        // When & Then
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> userService.createUser(userRequest)
+        );
+        
+        assertSame(primaryKeyViolation, exception);
     }
     
     @Test
@@ -97,13 +147,16 @@ class UserServiceTest {
     void testGetUserById_Success() {
         // Given
         Long userId = 1L;
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        UserResponse response = UserResponse.builder().id(userId).name("John Doe").build();
+        when(userResponseCache.get(userId)).thenReturn(Optional.of(response));
         
         // When
-        userService.getUserById(userId);
+        UserResponse result = userService.getUserById(userId);
         
-        // Then
-        verify(userRepository).findById(userId);
+        // Then - projection qua cache, không load entity và không qua mapper
+        assertSame(response, result);
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(userMapper);
     }
     
     @Test
@@ -111,7 +164,7 @@ class UserServiceTest {
     void testGetUserById_NotFound() {
         // Given
         Long userId = 999L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userResponseCache.get(userId)).thenReturn(Optional.empty());
         
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -119,7 +172,143 @@ class UserServiceTest {
                 () -> userService.getUserById(userId)
         );
         
-        assertEquals("User not found with ID: " + userId, exception.getMessage());
+        assertEquals(ApplicationConstants.ERROR_USER_NOT_FOUND, exception.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Should reject update when If-Match version is stale")
+    void testUpdateUser_VersionMismatch() {
+        // Given
+        user.setVersion(5L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        
+        // When & Then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> userService.updateUser(1L, userRequest, Set.of(4L))
+        );
+        
+        assertEquals(ApplicationConstants.ERROR_USER_VERSION_MISMATCH, exception.getMessage());
+        verify(userRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("Should report 412 when a patch matches no row of an existing user")
+    void testPatchUser_VersionMismatch() {
+        // Given
+        UserPatchRequest patch = new UserPatchRequest();
+        patch.setName("Jane Doe");
+        when(userPatchRepository.patch(1L, patch, Set.of(4L))).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> userService.patchUser(1L, patch, Set.of(4L)));
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("Should map a delete that affects no rows to user not found")
+    void testDeleteUser_NotFound() {
+        // Given
+        when(userRepository.deleteRowById(1L)).thenReturn(0);
+        
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> userService.deleteUser(1L)
+        );
+        
+        assertEquals(ApplicationConstants.ERROR_USER_NOT_FOUND, exception.getMessage());
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("Should bulk delete distinct IDs with one statement")
+    void testDeleteUsers_SingleStatement() {
+        // Given
+        when(userRepository.deleteRowsByIdIn(Set.of(1L, 2L, 3L))).thenReturn(2);
+        
+        // When
+        BulkDeleteResult result = userService.deleteUsers(List.of(1L, 2L, 3L, 2L));
+        
+        // Then
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getDeleted());
+        verify(userRepository, times(1)).deleteRowsByIdIn(any());
+        verify(eventPublisher, times(1)).publishEvent(UserChangedEvent.ofAll(Set.of(1L, 2L, 3L)));
+    }
+    
+    @Test
+    @DisplayName("Should search with lowercase escaped LIKE patterns")
+    void testSearchUsers_EscapesWildcards() {
+        // Given
+        when(userQueryRepository.searchResponsesBySubstring(eq("50%_off"), eq("50\\%\\_off%"), eq("%50\\%\\_off%"), any()))
+                .thenReturn(new SliceImpl<>(List.of(UserResponse.builder().id(1L).build()), PageRequest.of(0, 20), false));
+        
+        // When
+        PageResponse<UserResponse> result = userService.searchUsers(" 50%_OFF ", UserSearchMatch.CONTAINS, 0, 20);
+        
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.searchUsers("ab", UserSearchMatch.PREFIX, 0, 20));
+    }
+    
+    @Test
+    @DisplayName("Should resolve IDs with one IN query in request order")
+    void testGetUsersByIds_SingleQuery() {
+        // Given
+        UserResponse first = UserResponse.builder().id(1L).build();
+        UserResponse third = UserResponse.builder().id(3L).build();
+        when(userQueryRepository.findResponsesByIdIn(Set.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+        
+        // When
+        List<UserResponse> result = userService.getUsersByIds(List.of(3L, 2L, 1L, 3L));
+        
+        // Then - trùng ID được bỏ, ID không tồn tại bị bỏ qua
+        assertEquals(List.of(third, first), result);
+        verify(userQueryRepository, times(1)).findResponsesByIdIn(any());
+        verifyNoInteractions(userResponseCache);
+    }
+    
+    @Test
+    @DisplayName("Should return keyset page with cursor pointing at the last row")
+    void testGetUsers_KeysetPage() {
+        // Given - limit 1, repository trả về limit + 1 rows
+        UserResponse first = UserResponse.builder().id(1L).build();
+        UserResponse second = UserResponse.builder().id(2L).build();
+        when(userQueryRepository.findResponsePageByIdAsc(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(first, second));
+        
+        // When
+        PageResponse<UserResponse> page = userService.getUsers(UserSortField.ID, Sort.Direction.ASC, 1, null);
+        
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertNotNull(page.getNextCursor());
+        
+        // Cursor của page này dẫn tới query bắt đầu sau id của row cuối
+        userService.getUsers(UserSortField.ID, Sort.Direction.ASC, 1, page.getNextCursor());
+        verify(userQueryRepository).findResponsePageByIdAsc(eq(1L), eq(Limit.of(2)));
+    }
+    
+    @Test
+    @DisplayName("Should reject cursor issued for a different sort")
+    void testGetUsers_CursorSortMismatch() {
+        // Given
+        UserResponse row = UserResponse.builder().id(1L).build();
+        when(userQueryRepository.findResponsePageByIdAsc(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(row, row));
+        String cursor = userService.getUsers(UserSortField.ID, Sort.Direction.ASC, 1, null).getNextCursor();
+        
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> userService.getUsers(UserSortField.CREATED_AT, Sort.Direction.ASC, 1, cursor)
+        );
+        assertEquals(ApplicationConstants.ERROR_INVALID_CURSOR, exception.getMessage());
     }
 }
-
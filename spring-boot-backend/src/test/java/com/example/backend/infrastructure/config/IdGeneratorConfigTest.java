@@ -0,0 +1,46 @@
+package com.example.backend.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho IdGeneratorConfig
+ *
+ * Test strategy:
+ * - Node ID cấu hình tường minh được ưu tiên
+ * - derive-from-hostname lấy ordinal của StatefulSet pod
+ * - Không có node ID thì fail thay vì mặc định 0 (trùng ID giữa các pods)
+ */
+@DisplayName("IdGeneratorConfig Unit Tests")
+class IdGeneratorConfigTest {
+
+    @Test
+    @DisplayName("Should use the configured node ID")
+    void testResolveNodeId_Configured() {
+        // When & Then
+        assertEquals(7, IdGeneratorConfig.resolveNodeId("7", true, "backend-3"));
+    }
+
+    @Test
+    @DisplayName("Should derive the node ID from the StatefulSet pod ordinal")
+    void testResolveNodeId_FromHostname() {
+        // When & Then
+        assertEquals(3, IdGeneratorConfig.resolveNodeId("", true, "backend-3"));
+        assertThrows(IllegalStateException.class, () -> IdGeneratorConfig.resolveNodeId("", true, "backend"));
+    }
+
+    @Test
+    @DisplayName("Should fail when no node ID is configured")
+    void testResolveNodeId_Missing() {
+        // When
+        IllegalStateException exception = assertThrows(
+                IllegalStateException.class,
+                () -> IdGeneratorConfig.resolveNodeId("", false, "backend-3")
+        );
+
+        // Then
+        assertTrue(exception.getMessage().contains("id-generator.node-id"));
+    }
+}
@@ -1,18 +1,36 @@
 package com.example.backend.infrastructure.controller;
 
+import com.example.backend.application.dto.ImportResult;
+import com.example.backend.application.dto.PageResponse;
 import com.example.backend.application.dto.UserRequest;
 import com.example.backend.application.dto.UserResponse;
+import com.example.backend.application.exception.PreconditionFailedException;
+import com.example.backend.application.pagination.UserSortField;
+import com.example.backend.application.service.UserExportService;
+import com.example.backend.application.service.UserImportService;
 import com.example.backend.application.service.UserService;
+import com.example.backend.constants.ApplicationConstants;
+import com.example.backend.constants.DomainConstants;
+import com.example.backend.infrastructure.security.JwtService;
+import com.example.backend.infrastructure.security.TokenRevocationList;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,8 +43,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Mock Service layer
  * - Test HTTP status codes, response format
  * - Test validation
+ * - Security filters được tắt, chỉ test controller layer
  */
 @WebMvcTest(UserController.class)
+@AutoConfigureMockMvc(addFilters = false)
 @DisplayName("UserController Integration Tests")
 class UserControllerIntegrationTest {
     
@@ -36,6 +56,21 @@ class UserControllerIntegrationTest {
     @MockBean
     private UserService userService;
     
+    @MockBean
+    private UserExportService userExportService;
+    
+    @MockBean
+    private UserImportService userImportService;
+    
+    @MockBean
+    private JwtService jwtService;
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
@@ -103,5 +138,102 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.name").value("John Doe"));
     }
+    
+    @Test
+    @DisplayName("Should return 304 without body when If-None-Match matches the ETag")
+    void testGetUserById_NotModified() throws Exception {
+        // Given
+        when(userService.getUserById(1L)).thenReturn(UserResponse.builder().id(1L).version(3L).build());
+        
+        // When & Then
+        mockMvc.perform(get("/api/users/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+        mockMvc.perform(get("/api/users/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    @DisplayName("Should pass If-Match versions to the update and return 412 on mismatch")
+    void testUpdateUser_IfMatchMismatch() throws Exception {
+        // Given
+        UserRequest request = UserRequest.builder().name("John Doe").email("john@example.com").build();
+        when(userService.updateUser(eq(1L), any(UserRequest.class), eq(Set.of(2L))))
+                .thenThrow(new PreconditionFailedException(ApplicationConstants.ERROR_USER_VERSION_MISMATCH));
+        
+        // When & Then
+        mockMvc.perform(put("/api/users/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    @DisplayName("Should clamp page size to the maximum")
+    void testGetAllUsers_ClampsLimit() throws Exception {
+        // Given
+        PageResponse<UserResponse> page = PageResponse.<UserResponse>builder()
+                .items(List.of(UserResponse.builder().id(1L).build()))
+                .limit(DomainConstants.MAX_PAGE_SIZE)
+                .hasNext(true)
+                .nextCursor("next")
+                .build();
+        when(userService.getUsers(UserSortField.CREATED_AT, Sort.Direction.DESC, DomainConstants.MAX_PAGE_SIZE, null))
+                .thenReturn(page);
+        
+        // When & Then
+        mockMvc.perform(get("/api/users")
+                        .param("limit", "100000")
+                        .param("sort", "createdAt")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+    
+    @Test
+    @DisplayName("Should resolve comma-separated IDs through the batch endpoint")
+    void testGetUsersByIds() throws Exception {
+        when(userService.getUsersByIds(List.of(2L, 1L))).thenReturn(List.of(
+                UserResponse.builder().id(2L).build(),
+                UserResponse.builder().id(1L).build()));
+        
+        mockMvc.perform(get("/api/users/batch").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
+    }
+    
+    @Test
+    @DisplayName("Should return 400 for unknown sort field")
+    void testGetAllUsers_InvalidSort() throws Exception {
+        mockMvc.perform(get("/api/users").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @DisplayName("Should return 400 for unknown export format")
+    void testExportUsers_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @DisplayName("Should route CSV import by content type")
+    void testImportUsers_Csv() throws Exception {
+        when(userImportService.importCsv(any())).thenReturn(ImportResult.builder()
+                .total(1)
+                .imported(1)
+                .failures(List.of())
+                .build());
+        
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("text/csv")
+                        .content("name,email\nJohn Doe,john@example.com\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
 }
-
@@ -0,0 +1,235 @@
+package com.example.backend.infrastructure.idempotency;
+
+import com.example.backend.constants.ApiConstants;
+import com.example.backend.constants.ApplicationConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho IdempotencyFilter (LocalIdempotencyStore)
+ *
+ * Test strategy:
+ * - Request trùng key được replay từ store, controller chỉ chạy một lần
+ * - Cùng key với body khác bị từ chối (422); response 5xx không được lưu
+ * - Request trùng key đồng thời chờ kết quả của request đầu tiên
+ * - Response chứa tokens (register) không được lưu; body quá lớn bị từ chối (413)
+ * - Body đã cache hỗ trợ non-blocking read (ReadListener)
+ */
+@DisplayName("IdempotencyFilter Unit Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"name\":\"John Doe\",\"email\":\"john@example.com\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(
+                new LocalIdempotencyStore(Duration.ofHours(1), 100),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                Duration.ofHours(1),
+                Duration.ofSeconds(5),
+                1024,
+                Set.of(ApiConstants.AUTH_REGISTER));
+    }
+
+    @Test
+    @DisplayName("Should replay the first response for a duplicate key")
+    void testDuplicateKey_Replayed() throws Exception {
+        // When
+        MockHttpServletResponse first = perform("key-1", BODY, created());
+        MockHttpServletResponse second = perform("key-1", BODY, created());
+        MockHttpServletResponse reused = perform("key-1", "{\"name\":\"Other\"}", created());
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED.value(), second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("true", second.getHeader(ApiConstants.IDEMPOTENT_REPLAYED_HEADER));
+        assertNull(first.getHeader(ApiConstants.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), reused.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not store server errors so the retry is executed")
+    void testServerError_NotStored() throws Exception {
+        // Given
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        };
+
+        // When
+        perform("key-2", BODY, failing);
+        MockHttpServletResponse retry = perform("key-2", BODY, created());
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.CREATED.value(), retry.getStatus());
+        assertNull(retry.getHeader(ApiConstants.IDEMPOTENT_REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should make concurrent duplicates wait for the in-flight response")
+    void testConcurrentDuplicate_WaitsForInFlight() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+
+        // When
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> performUnchecked(slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> performUnchecked(slow));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertEquals(HttpStatus.CREATED.value(), first.get(5, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED.value(), replayed.getStatus());
+        assertEquals("true", replayed.getHeader(ApiConstants.IDEMPOTENT_REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not store register responses containing tokens")
+    void testRegister_CredentialsNotReplayed() throws Exception {
+        // Given
+        FilterChain register = (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"accessToken\":\"access\",\"refreshToken\":\"refresh\"}");
+        };
+
+        // When
+        MockHttpServletResponse first = perform(ApiConstants.AUTH_REGISTER, "key-4", BODY, register);
+        MockHttpServletResponse retry = perform(ApiConstants.AUTH_REGISTER, "key-4", BODY, register);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertTrue(first.getContentAsString().contains("refresh"));
+        assertEquals(HttpStatus.CONFLICT.value(), retry.getStatus());
+        assertEquals("true", retry.getHeader(ApiConstants.IDEMPOTENT_REPLAYED_HEADER));
+        assertTrue(retry.getContentAsString().contains(ApplicationConstants.ERROR_IDEMPOTENT_CREDENTIALS_NOT_REPLAYED));
+        assertFalse(retry.getContentAsString().contains("refresh\""));
+    }
+
+    @Test
+    @DisplayName("Should reject bodies larger than the limit without running the request")
+    void testLargeBody_Rejected() throws Exception {
+        // Given
+        String large = "{\"name\":\"" + "x".repeat(2048) + "\"}";
+
+        // When
+        MockHttpServletResponse response = perform("key-5", large, created());
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should serve the cached body to a non-blocking ReadListener")
+    void testCachedBody_ReadListener() throws Exception {
+        // Given
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        FilterChain nonBlocking = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(HttpStatus.CREATED.value());
+        };
+
+        // When
+        perform("key-6", BODY, nonBlocking);
+
+        // Then
+        assertTrue(allRead.get());
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpStatus.CREATED.value());
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getWriter().write("{\"id\":" + executions.incrementAndGet() + ",\"request\":" + body + "}");
+        };
+    }
+
+    private MockHttpServletResponse performUnchecked(FilterChain chain) {
+        try {
+            return perform("key-3", BODY, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MockHttpServletResponse perform(String key, String body, FilterChain chain) throws Exception {
+        return perform(ApiConstants.USERS_BASE_PATH, key, body, chain);
+    }
+
+    private MockHttpServletResponse perform(String path, String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader(ApiConstants.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.infrastructure.json;
+
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.infrastructure.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho IsoLocalDateTimeSerializer + JacksonConfig modules
+ *
+ * Test strategy:
+ * - Output giống hệt ObjectMapper mặc định của Spring Boot (ISO_LOCAL_DATE_TIME) cho mọi precision
+ * - Năm ngoài 0000-9999 và WRITE_DATES_AS_TIMESTAMPS dùng lại serializer mặc định
+ */
+@DisplayName("IsoLocalDateTimeSerializer Unit Tests")
+class IsoLocalDateTimeSerializerTest {
+
+    private final ObjectMapper defaultMapper = defaultMapper();
+    private final ObjectMapper optimizedMapper = optimizedMapper();
+
+    @Test
+    @DisplayName("Should write the same JSON as the default serializer")
+    void testSerialize_SameAsDefault() throws Exception {
+        // Given
+        List<LocalDateTime> values = new ArrayList<>(List.of(
+                LocalDateTime.of(2026, 1, 2, 3, 4),
+                LocalDateTime.of(2026, 12, 31, 23, 59, 59, 500_000_000),
+                LocalDateTime.of(2026, 10, 17, 5, 23, 49, 594_022_000),
+                LocalDateTime.of(2026, 10, 17, 5, 23, 49, 1),
+                LocalDateTime.of(999, 1, 1, 0, 0, 0, 120_000),
+                LocalDateTime.of(0, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(10000, 1, 1, 0, 0),
+                LocalDateTime.of(-1, 1, 1, 0, 0)));
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            values.add(LocalDateTime.of(1970 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000)));
+        }
+        UserResponse user = UserResponse.builder()
+                .id(1L).name("John Doe").email("john@example.com").bio("Bio")
+                .createdAt(values.get(2)).updatedAt(null).version(3L)
+                .build();
+
+        // When & Then
+        for (LocalDateTime value : values) {
+            assertEquals(defaultMapper.writeValueAsString(value), optimizedMapper.writeValueAsString(value));
+        }
+        assertEquals(defaultMapper.writeValueAsString(user), optimizedMapper.writeValueAsString(user));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default serializer for timestamps")
+    void testSerialize_TimestampsFallback() throws Exception {
+        // Given
+        LocalDateTime value = LocalDateTime.of(2026, 10, 17, 5, 23, 49, 594_022_000);
+
+        // When & Then
+        assertEquals(
+                defaultMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(value),
+                optimizedMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(value));
+    }
+
+    /**
+     * ObjectMapper như Spring Boot auto-configuration (dates dạng ISO string)
+     */
+    static ObjectMapper defaultMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static ObjectMapper optimizedMapper() {
+        JacksonConfig config = new JacksonConfig();
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(config.blackbirdModule(), config.isoLocalDateTimeModule())
+                .build();
+    }
+}
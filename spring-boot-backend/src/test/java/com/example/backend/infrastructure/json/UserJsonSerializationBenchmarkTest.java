@@ -0,0 +1,174 @@
+package com.example.backend.infrastructure.json;
+
+import com.example.backend.application.dto.PageResponse;
+import com.example.backend.application.dto.UserResponse;
+import com.example.backend.constants.DomainConstants;
+import com.example.backend.infrastructure.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark serialization của user responses: ObjectMapper mặc định vs JacksonConfig
+ *
+ * Chỉ chạy khi bật explicit (tốn thời gian, kết quả phụ thuộc máy):
+ *   mvn test -Dtest=UserJsonSerializationBenchmarkTest -Dbenchmark=true
+ *
+ * Đo bytes/sec và bytes allocated mỗi response (ThreadMXBean) cho:
+ * - default: như UserController trước đây - MVC converter tạo ObjectWriter cho mỗi response
+ * - optimized: cùng MVC path với Blackbird + IsoLocalDateTimeSerializer
+ * - optimized-reused-writer: ObjectWriter tạo một lần (export NDJSON, filters)
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("User JSON Serialization Benchmark")
+class UserJsonSerializationBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private final ObjectMapper defaultMapper = IsoLocalDateTimeSerializerTest.defaultMapper();
+    private final ObjectMapper optimizedMapper = IsoLocalDateTimeSerializerTest.optimizedMapper();
+
+    @Test
+    @DisplayName("Should serialize a full user page with less allocation and identical output")
+    void benchmarkUserPage() throws IOException {
+        PageResponse<UserResponse> page = userPage(DomainConstants.MAX_PAGE_SIZE);
+        JavaType pageType = defaultMapper.getTypeFactory().constructParametricType(PageResponse.class, UserResponse.class);
+
+        compare("user page (" + DomainConstants.MAX_PAGE_SIZE + " items)", page,
+                () -> defaultMapper.writer().forType(pageType),
+                () -> optimizedMapper.writer().forType(pageType),
+                optimizedMapper.writerFor(pageType));
+    }
+
+    @Test
+    @DisplayName("Should serialize error responses with identical output")
+    void benchmarkErrorResponse() throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.of(2026, 10, 17, 5, 23, 49, 594_022_000))
+                .status(400)
+                .error("Validation Failed")
+                .message("Invalid input data")
+                .details(Map.of("name", "Name must be between 2 and 100 characters"))
+                .build();
+
+        compare("error response", error,
+                () -> defaultMapper.writer().forType(ErrorResponse.class),
+                () -> optimizedMapper.writer().forType(ErrorResponse.class),
+                optimizedMapper.writerFor(ErrorResponse.class));
+    }
+
+    private void compare(
+            String payload,
+            Object value,
+            Supplier<ObjectWriter> defaultWriter,
+            Supplier<ObjectWriter> optimizedWriter,
+            ObjectWriter reusedWriter
+    ) throws IOException {
+        assertArrayEquals(serialize(defaultWriter.get(), value), serialize(reusedWriter, value));
+
+        Result baseline = measure("default", defaultWriter, value);
+        Result optimized = measure("optimized", optimizedWriter, value);
+        Result reused = measure("optimized-reused-writer", () -> reusedWriter, value);
+        log.info("Serialization benchmark - {}:", payload);
+        for (Result result : List.of(baseline, optimized, reused)) {
+            log.info("  {}", result);
+        }
+
+        assertTrue(optimized.allocatedPerResponse() < baseline.allocatedPerResponse());
+    }
+
+    private Result measure(String name, Supplier<ObjectWriter> writer, Object value) throws IOException {
+        CountingOutputStream output = new CountingOutputStream();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            writer.get().writeValue(output, value);
+        }
+        output.count = 0;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            writer.get().writeValue(output, value);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(name,
+                output.count / MEASURED_ITERATIONS,
+                output.count * 1_000_000_000.0 / elapsedNanos,
+                allocated / MEASURED_ITERATIONS);
+    }
+
+    private static byte[] serialize(ObjectWriter writer, Object value) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.writeValue(output, value);
+        return output.toByteArray();
+    }
+
+    private static PageResponse<UserResponse> userPage(int size) {
+        LocalDateTime base = LocalDateTime.of(2026, 10, 17, 5, 23, 49, 594_022_000);
+        List<UserResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(UserResponse.builder()
+                    .id(361_051_871_588_352L + i)
+                    .name("User " + i)
+                    .email("user" + i + "@example.com")
+                    .bio(i % 2 == 0 ? "Bio of user " + i : null)
+                    .createdAt(base.plusSeconds(i).plusNanos(i * 1_000L))
+                    .updatedAt(base.plusMinutes(i).plusNanos(i * 1_000L))
+                    .version((long) i)
+                    .build());
+        }
+        return PageResponse.<UserResponse>builder()
+                .items(items)
+                .limit(size)
+                .hasNext(true)
+                .nextCursor("eyJpZCI6MzYxMDUxODcxNTg4NDUxfQ")
+                .build();
+    }
+
+    private record Result(String name, long bytesPerResponse, double bytesPerSecond, long allocatedPerResponse) {
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %8d B/response %10.1f MB/s %10d B allocated/response",
+                    name, bytesPerResponse, bytesPerSecond / 1_000_000, allocatedPerResponse);
+        }
+    }
+
+    /**
+     * Sink bỏ bytes, chỉ đếm - benchmark không đo chi phí của output buffer
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
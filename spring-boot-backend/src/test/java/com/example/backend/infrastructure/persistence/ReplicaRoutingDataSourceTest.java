@@ -0,0 +1,156 @@
+package com.example.backend.infrastructure.persistence;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho ReplicaRoutingDataSource - hai H2 databases đóng vai primary và replica
+ *
+ * Test strategy:
+ * - Transaction readOnly đọc từ replica, transaction ghi dùng primary
+ * - User vừa ghi đọc từ primary trong sticky window, user khác vẫn đọc từ replica
+ * - Replica lỗi thì đọc từ primary và không thử lại replica trong failure backoff
+ * - readFromPrimary ép read-only transactions về primary, chỉ trong phạm vi action
+ */
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica and writes to the primary")
+    void testRoute_ReadOnlyToReplica() {
+        // Given
+        Routing routing = routing(replica);
+
+        // When & Then
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals("primary", new JdbcTemplate(routing.dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should read a user's own writes from the primary within the sticky window")
+    void testRoute_ReadYourWrites() {
+        // Given
+        Routing routing = routing(replica);
+        currentUser.set("alice@example.com");
+
+        // When
+        routing.write();
+
+        // Then
+        assertEquals("primary", routing.read());
+        currentUser.set("bob@example.com");
+        assertEquals("replica", routing.read());
+        currentUser.set(null);
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary and back off from a failing replica")
+    void testRoute_FailoverToPrimary() throws SQLException {
+        // Given
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Routing routing = routing(failing, replica);
+
+        // When
+        List<String> reads = List.of(routing.read(), routing.read(), routing.read(), routing.read());
+
+        // Then
+        assertFalse(reads.contains("primary"));
+        assertTrue(reads.stream().allMatch("replica"::equals));
+        verify(failing, times(1)).getConnection();
+
+        Routing onlyFailing = routing(failing);
+        assertEquals("primary", onlyFailing.read());
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the primary inside readFromPrimary")
+    void testRoute_ReadFromPrimary() {
+        // Given
+        Routing routing = routing(replica);
+
+        // When
+        String forced = ReplicaRoutingDataSource.readFromPrimary(routing::read);
+        String nested = ReplicaRoutingDataSource.readFromPrimary(
+                () -> ReplicaRoutingDataSource.readFromPrimary(routing::read) + "," + routing.read());
+
+        // Then
+        assertEquals("primary", forced);
+        assertEquals("primary,primary", nested);
+        assertEquals("replica", routing.read());
+    }
+
+    private Routing routing(DataSource... replicas) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                primary, List.of(replicas), Duration.ofMinutes(1), Duration.ofSeconds(5), currentUser::get);
+        return new Routing(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    /**
+     * Transaction templates trên routing data source - trả về tên node đã phục vụ query
+     */
+    private static final class Routing {
+
+        private final DataSource dataSource;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        private Routing(DataSource dataSource) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.dataSource = dataSource;
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        private String read() {
+            return readOnly.execute(status -> currentNode());
+        }
+
+        private String write() {
+            return readWrite.execute(status -> currentNode());
+        }
+
+        private String currentNode() {
+            return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.backend.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho TimeOrderedIdGenerator
+ *
+ * Test strategy:
+ * - ID tăng dần kể cả khi hết sequence trong một millisecond (clock đứng yên)
+ * - ID chứa node ID, timestamp và luôn nằm trong phạm vi an toàn của JavaScript
+ * - Không trùng ID khi gọi đồng thời từ nhiều threads
+ * - Millisecond logic không chạy trước wall clock quá giới hạn (chờ), clock lùi quá xa thì fail
+ */
+@DisplayName("TimeOrderedIdGenerator Unit Tests")
+class TimeOrderedIdGeneratorTest {
+
+    private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    @Test
+    @DisplayName("Should keep increasing past the per-millisecond sequence on a frozen clock")
+    void testNextId_MonotonicOnFrozenClock() {
+        // Given
+        Instant now = Instant.parse("2025-06-01T12:00:00Z");
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3, Clock.fixed(now, ZoneOffset.UTC));
+
+        // When & Then
+        long first = generator.nextId();
+        long previous = first;
+        for (int i = 0; i < 1000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(now, TimeOrderedIdGenerator.timestampOf(first));
+    }
+
+    @Test
+    @DisplayName("Should encode node ID and stay within JavaScript safe integer range")
+    void testNextId_Layout() {
+        // Given
+        Instant end = TimeOrderedIdGenerator.EPOCH.plusMillis((1L << TimeOrderedIdGenerator.TIMESTAMP_BITS) - 1);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(
+                TimeOrderedIdGenerator.MAX_NODE_ID, Clock.fixed(end, ZoneOffset.UTC));
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertTrue(id <= MAX_SAFE_INTEGER);
+        assertEquals(TimeOrderedIdGenerator.MAX_NODE_ID,
+                (id >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+        assertEquals(end, TimeOrderedIdGenerator.timestampOf(id));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    @DisplayName("Should not hand out duplicate IDs under concurrent use")
+    void testNextId_UniqueUnderContention() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        // Then
+        assertEquals(100_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should wait for the wall clock once IDs run too far ahead of it")
+    void testNextId_BoundedClockDrift() throws Exception {
+        // Given - clock đứng yên, đã dùng hết sequence của MAX_CLOCK_AHEAD_MILLIS milliseconds kế tiếp
+        MutableClock clock = new MutableClock(Instant.parse("2025-06-01T12:00:00Z"));
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, clock);
+        long perMillisecond = 1L << TimeOrderedIdGenerator.SEQUENCE_BITS;
+        for (long i = 0; i < (TimeOrderedIdGenerator.MAX_CLOCK_AHEAD_MILLIS + 1) * perMillisecond; i++) {
+            generator.nextId();
+        }
+        assertEquals(TimeOrderedIdGenerator.MAX_CLOCK_AHEAD_MILLIS, generator.clockAheadMillis());
+
+        // When
+        CompletableFuture<Long> blocked = CompletableFuture.supplyAsync(generator::nextId);
+
+        // Then - chỉ tiếp tục khi clock đuổi kịp
+        assertThrows(TimeoutException.class, () -> blocked.get(100, TimeUnit.MILLISECONDS));
+        clock.advance(1);
+        long id = blocked.get(5, TimeUnit.SECONDS);
+        assertEquals(clock.instant().plusMillis(TimeOrderedIdGenerator.MAX_CLOCK_AHEAD_MILLIS),
+                TimeOrderedIdGenerator.timestampOf(id));
+    }
+
+    @Test
+    @DisplayName("Should fail when the clock moves back further than the rollback limit")
+    void testNextId_ClockRollback() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2025-06-01T12:00:00Z"));
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0, clock);
+        generator.nextId();
+
+        // When
+        clock.advance(-TimeOrderedIdGenerator.MAX_CLOCK_ROLLBACK_MILLIS - 1);
+
+        // Then
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    /**
+     * Clock do test điều khiển
+     */
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis;
+
+        private MutableClock(Instant start) {
+            this.millis = new AtomicLong(start.toEpochMilli());
+        }
+
+        private void advance(long deltaMillis) {
+            millis.addAndGet(deltaMillis);
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho BcryptStrengthCalibrator
+ *
+ * Test strategy:
+ * - Strength không bao giờ thấp hơn min-strength, kể cả khi target quá nhỏ
+ * - Strength không vượt max-strength
+ */
+@DisplayName("BcryptStrengthCalibrator Unit Tests")
+class BcryptStrengthCalibratorTest {
+
+    @Test
+    @DisplayName("Should fall back to min strength when target is below measured time")
+    void testCalibrate_TargetTooLow() {
+        // When
+        int strength = BcryptStrengthCalibrator.calibrate(Duration.ZERO, 5, 12);
+
+        // Then
+        assertEquals(5, strength);
+    }
+
+    @Test
+    @DisplayName("Should cap strength at max strength")
+    void testCalibrate_CappedAtMax() {
+        // When
+        int strength = BcryptStrengthCalibrator.calibrate(Duration.ofHours(1), 4, 6);
+
+        // Then
+        assertEquals(6, strength);
+    }
+}
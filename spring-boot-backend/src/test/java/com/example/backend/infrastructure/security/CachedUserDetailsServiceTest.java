@@ -0,0 +1,161 @@
+package com.example.backend.infrastructure.security;
+
+import com.example.backend.application.event.UserChangedEvent;
+import com.example.backend.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.example.backend.infrastructure.persistence.RoutingReadConsistency;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho CachedUserDetailsService
+ *
+ * Test strategy:
+ * - Lần load thứ hai được serve từ cache
+ * - UserChangedEvent evict entry (theo email hoặc theo user ID)
+ * - Event cho nhiều user IDs chỉ evict entries của các users đó
+ * - eraseCredentials trên object trả về không ảnh hưởng cache
+ * - Load từ primary kể cả khi replica bị lag (roles cũ không quay lại cache)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachedUserDetailsService Unit Tests")
+class CachedUserDetailsServiceTest {
+
+    private static final String EMAIL = "john@example.com";
+
+    @Mock
+    private UserDetailsServiceImpl delegate;
+
+    private CachedUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CachedUserDetailsService(delegate, new RoutingReadConsistency(), Duration.ofMinutes(5), 100);
+        lenient().when(delegate.loadUserByUsername(EMAIL)).thenReturn(new UserPrincipal(
+                1L, EMAIL, "hashed-password", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Test
+    @DisplayName("Should load user from database only once")
+    void testLoadUserByUsername_CacheHit() {
+        // When
+        service.loadUserByUsername(EMAIL);
+        service.loadUserByUsername(EMAIL);
+
+        // Then
+        verify(delegate, times(1)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reload user after change event with email")
+    void testOnUserChanged_ByEmail() {
+        // Given
+        service.loadUserByUsername(EMAIL);
+
+        // When
+        service.onUserChanged(UserChangedEvent.of(1L, EMAIL));
+        service.loadUserByUsername(EMAIL);
+
+        // Then
+        verify(delegate, times(2)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reload user after change event with only user ID")
+    void testOnUserChanged_ById() {
+        // Given
+        service.loadUserByUsername(EMAIL);
+
+        // When
+        service.onUserChanged(UserChangedEvent.of(1L));
+        service.loadUserByUsername(EMAIL);
+
+        // Then
+        verify(delegate, times(2)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should evict only the users of a batched change event")
+    void testOnUserChanged_Batch() {
+        // Given
+        String other = "jane@example.com";
+        when(delegate.loadUserByUsername(other)).thenReturn(new UserPrincipal(
+                2L, other, "hashed-password", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        service.loadUserByUsername(EMAIL);
+        service.loadUserByUsername(other);
+
+        // When
+        service.onUserChanged(UserChangedEvent.ofAll(List.of(1L, 3L)));
+        service.loadUserByUsername(EMAIL);
+        service.loadUserByUsername(other);
+
+        // Then
+        verify(delegate, times(2)).loadUserByUsername(EMAIL);
+        verify(delegate, times(1)).loadUserByUsername(other);
+    }
+
+    @Test
+    @DisplayName("Should load from the primary even when a read replica lags behind")
+    void testLoadUserByUsername_IgnoresLaggingReplica() {
+        // Given - replica chưa nhận thay đổi role đã commit trên primary
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                h2("primary", "ROLE_ADMIN"), List.of(h2("lagging-replica", "ROLE_USER")),
+                Duration.ofMinutes(1), Duration.ofSeconds(5), () -> null));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnly.setReadOnly(true);
+        // Giống UserRepository.findByEmail: read-only transaction
+        String other = "admin@example.com";
+        when(delegate.loadUserByUsername(other)).thenAnswer(invocation -> readOnly.execute(status -> new UserPrincipal(
+                2L, other, "hashed-password", List.of(new SimpleGrantedAuthority(new JdbcTemplate(routing)
+                        .queryForObject("SELECT role FROM user_roles WHERE user_id = 2", String.class))))));
+
+        // When
+        UserDetails loaded = service.loadUserByUsername(other);
+
+        // Then
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), List.copyOf(loaded.getAuthorities()));
+        assertEquals("ROLE_USER", readOnly.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT role FROM user_roles WHERE user_id = 2", String.class)));
+    }
+
+    @Test
+    @DisplayName("Should keep cached password when caller erases credentials")
+    void testLoadUserByUsername_EraseCredentials() {
+        // Given
+        User first = (User) service.loadUserByUsername(EMAIL);
+
+        // When
+        first.eraseCredentials();
+
+        // Then
+        assertEquals("hashed-password", service.loadUserByUsername(EMAIL).getPassword());
+    }
+
+    private static DataSource h2(String name, String role) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:user-details-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS user_roles (user_id BIGINT, role VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM user_roles");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) VALUES (2, ?)", role);
+        return dataSource;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho JwtAccessTokenService
+ *
+ * Test strategy:
+ * - Revoke đưa jti của token đã verify vào TokenRevocationList
+ * - Token invalid khi logout bị bỏ qua, không throw
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAccessTokenService Unit Tests")
+class JwtAccessTokenServiceTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @InjectMocks
+    private JwtAccessTokenService accessTokenService;
+
+    @Test
+    @DisplayName("Should revoke verified access token by jti")
+    void testRevoke_ValidToken() {
+        // Given
+        Claims claims = Jwts.claims().id("token-id").build();
+        when(jwtService.parseToken("jwt-token")).thenReturn(claims);
+
+        // When
+        accessTokenService.revoke("jwt-token");
+
+        // Then
+        verify(tokenRevocationList).revoke(claims);
+    }
+
+    @Test
+    @DisplayName("Should ignore invalid access token on revoke")
+    void testRevoke_InvalidToken() {
+        // Given
+        when(jwtService.parseToken("garbage")).thenThrow(new MalformedJwtException("bad token"));
+
+        // When & Then
+        assertDoesNotThrow(() -> accessTokenService.revoke("garbage"));
+        verifyNoInteractions(tokenRevocationList);
+    }
+}
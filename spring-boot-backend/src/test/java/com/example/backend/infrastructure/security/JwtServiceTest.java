@@ -0,0 +1,179 @@
+package com.example.backend.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho JwtService
+ *
+ * Test strategy:
+ * - Token chứa roles và user ID claims
+ * - Principal được build từ claims mà không cần UserDetailsService
+ * - Token bị sửa hoặc expired bị reject khi parse
+ * - Token lặp lại được serve từ verified-token cache
+ * - ES256 token có kid header khớp với key trong JWK Set; key lạ bị reject
+ * - HS256 mode vẫn hoạt động và không publish key nào
+ * - ES256/EdDSA không có keystore thì init fail, trừ khi cho phép ephemeral key
+ */
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-must-be-at-least-32-characters-long";
+
+    private JwtService jwtService;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = createJwtService(JwtKeySet.ALGORITHM_ES256);
+
+        principal = new UserPrincipal(
+                42L,
+                "john@example.com",
+                "hashed-password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should build principal from token claims")
+    void testToPrincipal_FromClaims() {
+        // Given
+        String token = jwtService.generateToken(principal);
+
+        // When
+        Claims claims = jwtService.parseToken(token);
+        UserPrincipal result = jwtService.toPrincipal(claims);
+
+        // Then
+        assertTrue(jwtService.hasAuthorities(claims));
+        assertEquals(42L, result.getId());
+        assertEquals("john@example.com", result.getUsername());
+        assertEquals(List.of("ROLE_USER"), result.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered token")
+    void testParseToken_Tampered() {
+        // Given
+        String token = jwtService.generateToken(principal);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void testParseToken_Expired() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "expiration", -1_000L);
+        String token = jwtService.generateToken(principal);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.parseToken(token));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated token from verified-token cache")
+    void testParseToken_CacheHit() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtService.bindTo(registry);
+        String token = jwtService.generateToken(principal);
+
+        // When
+        Claims first = jwtService.parseToken(token);
+        Claims second = jwtService.parseToken(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should sign with kid published in JWK Set")
+    void testGenerateToken_KeyIdInJwkSet() {
+        // Given
+        String token = jwtService.generateToken(principal);
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+
+        // When
+        List<?> keys = (List<?>) jwtService.getJwkSet().get("keys");
+        Map<?, ?> jwk = (Map<?, ?>) keys.get(0);
+
+        // Then
+        assertEquals(1, keys.size());
+        assertEquals("EC", jwk.get("kty"));
+        assertFalse(jwk.containsKey("d"));
+        assertTrue(header.contains("\"kid\":\"" + jwk.get("kid") + "\""));
+        assertTrue(header.contains("ES256"));
+    }
+
+    @Test
+    @DisplayName("Should reject token signed with an unknown key")
+    void testParseToken_UnknownKey() {
+        // Given
+        String foreignToken = createJwtService(JwtKeySet.ALGORITHM_ES256).generateToken(principal);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.parseToken(foreignToken));
+    }
+
+    @Test
+    @DisplayName("Should keep working with shared-secret HS256 mode")
+    void testHmacMode() {
+        // Given
+        JwtService hmacService = createJwtService(JwtKeySet.ALGORITHM_HS256);
+
+        // When
+        Claims claims = hmacService.parseToken(hmacService.generateToken(principal));
+
+        // Then
+        assertEquals("john@example.com", claims.getSubject());
+        assertEquals(List.of(), hmacService.getJwkSet().get("keys"));
+    }
+
+    @Test
+    @DisplayName("Should fail startup without keystore unless ephemeral keys are allowed")
+    void testInit_RequiresKeystore() {
+        // Given
+        JwtService service = configure(new JwtService(), JwtKeySet.ALGORITHM_ES256, false);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, service::init);
+        assertTrue(exception.getMessage().contains("jwt.signing.keystore.path"));
+    }
+
+    private JwtService createJwtService(String algorithm) {
+        JwtService service = configure(new JwtService(), algorithm, true);
+        service.init();
+        return service;
+    }
+
+    private JwtService configure(JwtService service, String algorithm, boolean allowEphemeral) {
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "expiration", 60_000L);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "signingAlgorithm", algorithm);
+        ReflectionTestUtils.setField(service, "allowEphemeral", allowEphemeral);
+        return service;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.infrastructure.security;
+
+import com.example.backend.infrastructure.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test cho PooledPasswordHasher
+ *
+ * Test strategy:
+ * - Hashing chạy trên pool riêng, không phải thread gọi
+ * - Khi pool và queue đều đầy thì fail fast với ServiceOverloadedException
+ */
+@DisplayName("PooledPasswordHasher Unit Tests")
+class PasswordHasherTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PooledPasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    @DisplayName("Should hash on the dedicated pool")
+    void testEncode_RunsOnHashingPool() {
+        // Given
+        passwordHasher = new PooledPasswordHasher(passwordEncoder, registry, 1, 1, 1);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        // When
+        String threadName = passwordHasher.encode("secret123");
+
+        // Then
+        assertTrue(threadName.startsWith("password-hash-"));
+        assertEquals(1, registry.get("security.password.hashing.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject when pool and queue are full")
+    void testEncode_QueueFull() throws Exception {
+        // Given - 1 thread bận, 1 task trong queue
+        passwordHasher = new PooledPasswordHasher(passwordEncoder, registry, 1, 1, 5);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("b"));
+        while (registry.get("security.password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        ServiceOverloadedException exception = assertThrows(
+                ServiceOverloadedException.class,
+                () -> passwordHasher.encode("c")
+        );
+        assertEquals(5, exception.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("security.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+}
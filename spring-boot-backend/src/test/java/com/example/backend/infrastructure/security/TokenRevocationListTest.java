@@ -0,0 +1,60 @@
+package com.example.backend.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test cho TokenRevocationList
+ *
+ * Test strategy:
+ * - Token đã revoke bị nhận diện theo jti
+ * - Entry bị prune sau khi token expire
+ */
+@DisplayName("TokenRevocationList Unit Tests")
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList();
+
+    @Test
+    @DisplayName("Should report revoked token by jti")
+    void testRevoke_IsRevoked() {
+        // Given
+        Claims revoked = claims("token-1", System.currentTimeMillis() + 60_000);
+        Claims other = claims("token-2", System.currentTimeMillis() + 60_000);
+
+        // When
+        revocationList.revoke(revoked);
+
+        // Then
+        assertTrue(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(other));
+    }
+
+    @Test
+    @DisplayName("Should prune entries once the token has expired")
+    void testPruneExpired() throws InterruptedException {
+        // Given
+        Claims claims = claims("token-1", System.currentTimeMillis() + 50);
+        revocationList.revoke(claims);
+
+        // When
+        Thread.sleep(100);
+        revocationList.pruneExpired();
+
+        // Then
+        assertFalse(revocationList.isRevoked(claims));
+    }
+
+    private Claims claims(String tokenId, long expiresAtMillis) {
+        return Jwts.claims()
+                .id(tokenId)
+                .expiration(new Date(expiresAtMillis))
+                .build();
+    }
+}